@@ -0,0 +1,82 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generates reproducible packs for the benchmarks.
+ */
+final class BenchPacks {
+
+    private BenchPacks() {
+    }
+
+    /**
+     * Builds a pack of 8 * numPlayers values.
+     * <ul>
+     *   <li>{@code uniform}: every value 1..n appears 8 times, shuffled; always has a winner</li>
+     *   <li>{@code sorted}: as uniform but unshuffled, so the first player wins at deal</li>
+     *   <li>{@code wide}: random values up to 9 digits; for parser benchmarks only</li>
+     * </ul>
+     */
+    static int[] make(String shape, int numPlayers, long seed) {
+        int[] pack = new int[numPlayers * 8];
+        Random random = new Random(seed);
+
+        switch (shape) {
+            case "uniform":
+            case "sorted":
+                for (int i = 0; i < pack.length; i++) {
+                    pack[i] = i / 8 + 1;
+                }
+                if (shape.equals("uniform")) {
+                    for (int i = pack.length - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        int t = pack[i];
+                        pack[i] = pack[j];
+                        pack[j] = t;
+                    }
+                }
+                return pack;
+            case "wide":
+                for (int i = 0; i < pack.length; i++) {
+                    pack[i] = random.nextInt(1_000_000_000);
+                }
+                return pack;
+            default:
+                throw new IllegalArgumentException("Unknown pack shape: " + shape);
+        }
+    }
+
+    /** Writes a pack to a temporary file, one value per line. */
+    static Path write(int[] pack) throws IOException {
+        StringBuilder sb = new StringBuilder(pack.length * 4);
+        for (int v : pack) {
+            sb.append(v).append('\n');
+        }
+        Path file = Files.createTempFile("bench-pack", ".txt");
+        Files.writeString(file, sb);
+        return file;
+    }
+
+    /**
+     * Reads a sample pack of the game, e.g. {@code 8players.txt}, from the
+     * directory named by {@code -Dbench.samples}, by default the game's
+     * resources as seen from the {@code benchmarks} directory.
+     */
+    static int[] sample(String name, int numPlayers) throws IOException {
+        Path dir = Path.of(System.getProperty("bench.samples", "../src/main/resources"));
+        return PackReader.readPackValues(dir.resolve(name).toString(), numPlayers);
+    }
+
+    /** Deletes the output files a game with the given player count leaves in the working directory. */
+    static void deleteOutputs(int numPlayers) throws IOException {
+        for (int i = 1; i <= numPlayers; i++) {
+            Files.deleteIfExists(Path.of(PlayerLogFormat.fileName(i)));
+            Files.deleteIfExists(Path.of(PlayerLogFormat.binaryFileName(i)));
+            Files.deleteIfExists(Path.of("deck" + i + "_output.txt"));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package cardgame;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deck add/poll throughput, uncontended and as a producer/consumer pair
+ * (the relationship between two neighbouring players). Operations go
+ * round-robin over one deck per player, so larger games show the cost of
+ * decks that no longer fit in cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    // Maximum cards in flight in the pair benchmark, so the deck cannot grow without bound
+    private static final long MAX_IN_FLIGHT = 1024;
+
+    /** One deck per player, used by a single thread. */
+    @State(Scope.Thread)
+    public static class SingleState {
+
+        @Param({"4", "64", "1024"})
+        public int players;
+
+        @Param({"LOCKING", "SPSC"})
+        public DeckMode deckMode;
+
+        Deck[] decks;
+        int next;
+
+        @Setup
+        public void setUp() {
+            decks = createDecks(deckMode, players, 64);
+            next = 0;
+        }
+    }
+
+    /**
+     * One deck per player, each shared by a producer thread and a consumer
+     * thread that both visit the decks in the same order.
+     */
+    @State(Scope.Group)
+    public static class PairState {
+
+        @Param({"4", "64", "1024"})
+        public int players;
+
+        @Param({"LOCKING", "SPSC"})
+        public DeckMode deckMode;
+
+        Deck[] decks;
+        final AtomicLong consumed = new AtomicLong();
+        long produced;
+
+        @Setup
+        public void setUp() {
+            decks = createDecks(deckMode, players, (int) Math.max(16, MAX_IN_FLIGHT / players));
+            consumed.set(0);
+            produced = 0;
+        }
+    }
+
+    private static Deck[] createDecks(DeckMode deckMode, int players, int capacity) {
+        Deck[] decks = new Deck[players];
+        for (int i = 0; i < players; i++) {
+            decks[i] = deckMode.create(i + 1, capacity);
+        }
+        return decks;
+    }
+
+    @Benchmark
+    public int addThenPoll(SingleState s) {
+        Deck deck = s.decks[s.next];
+        s.next = s.next + 1 == s.decks.length ? 0 : s.next + 1;
+        deck.addValue(7);
+        return deck.pollFirstValue();
+    }
+
+    @Benchmark
+    @Group("pair")
+    @GroupThreads(1)
+    public void produce(PairState s) {
+        if (s.produced - s.consumed.getAcquire() < MAX_IN_FLIGHT) {
+            s.decks[(int) (s.produced % s.decks.length)].addValue(7);
+            s.produced++;
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @Group("pair")
+    @GroupThreads(1)
+    public int consume(PairState s) {
+
+        // The producer fills the decks in turn, so the next card is always in this one
+        long c = s.consumed.get();
+        int v = s.decks[(int) (c % s.decks.length)].pollFirstValue();
+        if (v != Deck.EMPTY) {
+            s.consumed.setRelease(c + 1);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,93 @@
+package cardgame;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing every deck's output file at the end of a game: the original
+ * {@code PrintWriter} loop against {@link DeckOutputWriter} on one thread
+ * and on one thread per core.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeckOutputBenchmark {
+
+    @Param({"1000", "10000"})
+    public int decks;
+
+    @Param({"8", "1000"})
+    public int cardsPerDeck;
+
+    private Deck[] deckArray;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        GameSession session = new GameSession();
+        deckArray = new Deck[decks];
+        for (int i = 0; i < decks; i++) {
+            deckArray[i] = new Deck(i + 1, cardsPerDeck, session);
+            for (int c = 0; c < cardsPerDeck; c++) {
+                deckArray[i].addValue(1 + random.nextInt(decks));
+            }
+        }
+        dir = Files.createTempDirectory("deck-output");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void printWriter() throws IOException {
+        for (Deck d : deckArray) {
+            try (PrintWriter pw = new PrintWriter(dir.resolve("deck" + d.getDeckId() + "_output.txt").toFile())) {
+                pw.print("deck" + d.getDeckId() + " contents:");
+                for (int v : d.getValues()) {
+                    pw.print(" " + v);
+                }
+                pw.println();
+            }
+        }
+    }
+
+    @Benchmark
+    public void channelOneThread() {
+        DeckOutputWriter.writeAll(deckArray, dir, 1);
+    }
+
+    @Benchmark
+    public void channelParallel() {
+        DeckOutputWriter.writeAll(deckArray, dir);
+    }
+}
@@ -0,0 +1,83 @@
+package cardgame;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete games of the sample packs per discard strategy. Each call plays
+ * the pack with the next seed of the simulated engine's random turn order,
+ * so the time per game is averaged over many turn orders. The secondary
+ * results {@code turns} and {@code games} count both over each iteration;
+ * {@code turns / games} is the mean number of turns to a win.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscardStrategyBenchmark {
+
+    @Param({"4", "8", "20"})
+    public int players;
+
+    @Param({"FIRST_NON_PREFERRED", "MOST_FREQUENT", "MAJORITY"})
+    public DiscardMode discard;
+
+    /** Turns and games played in an iteration. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counts {
+
+        public long turns;
+        public long games;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            turns = 0;
+            games = 0;
+        }
+    }
+
+    private int[] pack;
+    private GameOptions options;
+    private long seed = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pack = BenchPacks.sample(players + "players.txt", players);
+
+        // A strategy that livelocks on some turn order ends that game instead of hanging the run
+        options = new GameOptions().setEngine(Engine.SIMULATED).setLogMode(LogMode.BINARY)
+                .setDiscardStrategy(discard).setWatchdogMaxTurns(1_000_000);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        BenchPacks.deleteOutputs(players);
+    }
+
+    @Benchmark
+    public int playGame(Counts counts) {
+        GameReport report = CardGame.playGameWithReport(new GameSession(), players, pack,
+                options.copy().setSeed(seed++));
+        counts.turns += report.getTotalTurns();
+        counts.games++;
+        return report.getWinnerId();
+    }
+}
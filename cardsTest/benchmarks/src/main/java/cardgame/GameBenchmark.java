@@ -0,0 +1,63 @@
+package cardgame;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end game time: deal, play until a winner, write every output file.
+ * A shuffled {@code uniform} pack always produces a winner; a
+ * {@code sorted} pack is won at the deal, so it measures everything but play.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameBenchmark {
+
+    @Param({"4", "64", "1024"})
+    public int players;
+
+    @Param({"uniform", "sorted"})
+    public String shape;
+
+    @Param({"LOCKING", "SPSC"})
+    public DeckMode deckMode;
+
+    @Param({"TEXT", "ASYNC", "BINARY"})
+    public LogMode logMode;
+
+    private int[] pack;
+    private GameOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pack = BenchPacks.make(shape, players, 42);
+        options = new GameOptions().setDeckMode(deckMode).setLogMode(logMode);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        BenchPacks.deleteOutputs(players);
+    }
+
+    @Benchmark
+    public int playGame() {
+        return CardGame.playGame(players, pack, options);
+    }
+}
@@ -0,0 +1,131 @@
+package cardgame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the hand operations of one turn: add the drawn card, choose and
+ * remove the discard, check for a win. {@code LIST} is the original
+ * {@code ArrayList<Card>} hand with a linear scan and {@code remove(i)},
+ * kept here as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+
+    @Param({"LIST", "SLOT", "PACKED"})
+    public String hand;
+
+    // Fraction of drawn cards equal to the preferred value 1
+    @Param({"0.25"})
+    public double preferredShare;
+
+    private static final int DRAWS = 1024;
+
+    private Hand h;
+    private final int[] draws = new int[DRAWS];
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        h = hand.equals("LIST") ? new ListHand(1) : HandMode.valueOf(hand).create(1);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < DRAWS; i++) {
+            draws[i] = random.nextDouble() < preferredShare ? 1 : 2 + random.nextInt(20);
+        }
+        for (int v = 2; v <= 5; v++) {
+            h.add(v);
+        }
+    }
+
+    @Benchmark
+    public int turn() {
+        h.add(draws[next++ & (DRAWS - 1)]);
+        int discarded = h.discard();
+        return h.isWinning() ? -discarded : discarded;
+    }
+
+    @Benchmark
+    public boolean winCheck() {
+        return h.isWinning();
+    }
+
+    @Benchmark
+    public int snapshot() {
+        return PlayerLogFormat.appendHand(new StringBuilder(16), h).length();
+    }
+
+    /** The hand as it was before SlotHand: a list of Card objects scanned on every turn. */
+    static final class ListHand implements Hand {
+
+        private final List<Card> cards = new ArrayList<>();
+        private final int preferredValue;
+
+        ListHand(int preferredValue) {
+            this.preferredValue = preferredValue;
+        }
+
+        @Override
+        public int size() {
+            return cards.size();
+        }
+
+        @Override
+        public int get(int slot) {
+            return cards.get(slot).getValue();
+        }
+
+        @Override
+        public void add(int value) {
+            cards.add(new Card(value));
+        }
+
+        @Override
+        public int discard() {
+            for (int i = 0; i < cards.size(); i++) {
+                if (cards.get(i).getValue() != preferredValue) {
+                    return cards.remove(i).getValue();
+                }
+            }
+            return cards.remove(0).getValue();
+        }
+
+        @Override
+        public int remove(int slot) {
+            return cards.remove(slot).getValue();
+        }
+
+        @Override
+        public boolean isWinning() {
+            if (cards.size() != 4) {
+                return false;
+            }
+            int first = cards.get(0).getValue();
+            for (int i = 1; i < 4; i++) {
+                if (cards.get(i).getValue() != first) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cardgame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip of one card between two neighbouring players that wait on
+ * their decks: the benchmark thread discards to the echo thread's deck and
+ * waits for the card to come back on its own. Measures the wake-up latency
+ * of each wait strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandoffBenchmark {
+
+    @Param({"LOCKING", "SPSC"})
+    public DeckMode deckMode;
+
+    @Param({"BLOCKING", "SPINNING", "HYBRID"})
+    public WaitStrategy waitStrategy;
+
+    private GameSession session;
+    private Deck toEcho;
+    private Deck fromEcho;
+    private Thread echo;
+
+    @Setup
+    public void setUp() {
+        session = new GameSession();
+        toEcho = deckMode.create(1, 16, session);
+        fromEcho = deckMode.create(2, 16, session);
+        toEcho.setWaitStrategy(waitStrategy);
+        fromEcho.setWaitStrategy(waitStrategy);
+        session.setDecks(new Deck[]{toEcho, fromEcho});
+
+        echo = new Thread(() -> {
+            try {
+                while (toEcho.awaitCardOrGameEnd()) {
+                    fromEcho.addValue(toEcho.pollFirstValue());
+                }
+            } catch (InterruptedException e) {
+                // Ends the echo thread
+            }
+        }, "echo");
+        echo.setDaemon(true);
+        echo.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        session.endGame();
+        echo.join();
+    }
+
+    @Benchmark
+    public int roundTrip() throws InterruptedException {
+        toEcho.addValue(7);
+        fromEcho.awaitCardOrGameEnd();
+        return fromEcho.pollFirstValue();
+    }
+}
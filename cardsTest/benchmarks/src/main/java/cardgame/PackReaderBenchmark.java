@@ -0,0 +1,61 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pack loading time by player count (file size) and pack shape (digits per line).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackReaderBenchmark {
+
+    @Param({"4", "1000", "100000", "1000000"})
+    public int players;
+
+    @Param({"uniform", "wide"})
+    public String shape;
+
+    private Path packFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        packFile = BenchPacks.write(BenchPacks.make(shape, players, 42));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(packFile);
+    }
+
+    @Benchmark
+    public int[] readPackValues() throws IOException {
+        return PackReader.readPackValues(packFile.toString(), players);
+    }
+
+    @Benchmark
+    public void streamPackValues(Blackhole bh) throws IOException {
+        PackReader.streamPackValues(packFile.toString(), players, bh::consume);
+    }
+}
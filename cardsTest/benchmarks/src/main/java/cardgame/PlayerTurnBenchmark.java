@@ -0,0 +1,68 @@
+package cardgame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one draw/discard turn, excluding logging, with the players of a
+ * game seated in a ring as in a real game and taking turns one after the
+ * other on a single thread. Every card is a distinct value nobody
+ * prefers, so no hand ever wins, and each deck starts with two cards, so
+ * the round of turns never leaves a deck empty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerTurnBenchmark {
+
+    @Param({"4", "64", "1024"})
+    public int players;
+
+    @Param({"LOCKING", "SPSC"})
+    public DeckMode deckMode;
+
+    private Player[] seats;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Deck[] decks = new Deck[players];
+        for (int i = 0; i < players; i++) {
+            decks[i] = deckMode.create(i + 1, 16);
+        }
+
+        // Values above the player count match nobody's preferred value
+        int value = players + 1;
+        seats = new Player[players];
+        for (int i = 0; i < players; i++) {
+            seats[i] = new Player(i + 1, decks[i], decks[(i + 1) % players], new TextLogSink());
+            for (int c = 0; c < 4; c++) {
+                seats[i].addValue(value++);
+            }
+            decks[i].addValue(value++);
+            decks[i].addValue(value++);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public int turn() {
+        Player player = seats[next];
+        next = next + 1 == seats.length ? 0 : next + 1;
+        return player.takeTurn();
+    }
+}
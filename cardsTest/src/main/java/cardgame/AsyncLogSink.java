@@ -0,0 +1,487 @@
+package cardgame;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes player logs on a background thread.
+ * Players append compact int records to a private batch; full batches are
+ * queued on a bounded queue and a single writer thread formats each batch
+ * and writes it to the player's file in one call. Output is byte-identical
+ * to {@link TextLogSink}.
+ * <p>
+ * A batch is handed over when it holds {@code batchRecords} records, when
+ * it is older than {@code flushMillis} (if positive), and always when the
+ * player's log is closed. The age is checked when the player appends a
+ * record and, so that a player blocked on a deck or no longer logging does
+ * not hold its lines back, by the writer thread every half
+ * {@code flushMillis}; each player log then takes its own, normally
+ * uncontended, lock per record. {@link #close()} returns only after every queued batch has
+ * been written.
+ */
+public class AsyncLogSink implements LogSink {
+
+    // Record codes; each is followed by its int payload in the batch
+    private static final int INITIAL_HAND = 0;   // n, values...
+    private static final int TURN = 1;           // drawn, fromDeck, discarded, toDeck, n, values...
+    private static final int WINS = 2;
+    private static final int INFORMED = 3;       // winnerId
+    private static final int EXITS = 4;
+    private static final int FINAL_HAND = 5;     // n, values...
+    private static final int HAND = 6;           // n, values...
+
+    // Ints reserved per record when sizing a new batch (a turn with a four-card hand)
+    private static final int INTS_PER_RECORD = 10;
+
+    // Marker telling the writer thread to stop
+    private static final Batch SHUTDOWN = new Batch(0);
+
+    private final Path directory;
+    private final int batchRecords;
+    private final long flushNanos;
+    private final BlockingQueue<Batch> pending;
+    private final BlockingQueue<Batch> free;
+    private final Set<TimedPlayerLog> timed = ConcurrentHashMap.newKeySet();  // Open logs the writer ages
+    private final Thread writerThread;
+
+    /**
+     * Creates the sink writing to the working directory and starts its writer thread.
+     *
+     * @param batchRecords  records collected per player before a batch is queued
+     * @param flushMillis   maximum age of a non-empty batch before it is queued; 0 to disable
+     * @param queueCapacity maximum number of batches waiting for the writer
+     */
+    public AsyncLogSink(int batchRecords, long flushMillis, int queueCapacity) {
+        this(Path.of(""), batchRecords, flushMillis, queueCapacity);
+    }
+
+    /**
+     * Creates the sink and starts its writer thread.
+     *
+     * @param directory     directory the player files are written to
+     * @param batchRecords  records collected per player before a batch is queued
+     * @param flushMillis   maximum age of a non-empty batch before it is queued; 0 to disable
+     * @param queueCapacity maximum number of batches waiting for the writer
+     */
+    public AsyncLogSink(Path directory, int batchRecords, long flushMillis, int queueCapacity) {
+        if (batchRecords <= 0 || queueCapacity <= 0 || flushMillis < 0) {
+            throw new IllegalArgumentException("Invalid async log settings.");
+        }
+        this.directory = directory;
+        this.batchRecords = batchRecords;
+        this.flushNanos = flushMillis * 1_000_000L;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.free = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::writeLoop, "player-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public PlayerLog open(int playerId) throws IOException {
+        String file = directory.resolve(PlayerLogFormat.fileName(playerId)).toString();
+        if (flushNanos == 0) {
+            return new AsyncPlayerLog(playerId, file, new FileOutputStream(file, true));
+        }
+        TimedPlayerLog log = new TimedPlayerLog(playerId, file, new FileOutputStream(file, true));
+        timed.add(log);
+        return log;
+    }
+
+    /**
+     * Waits until the writer thread has written every queued batch.
+     */
+    @Override
+    public void close() throws IOException {
+        putUninterruptibly(SHUTDOWN);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writer thread: formats and writes batches until shut down. */
+    private void writeLoop() {
+        StringBuilder sb = new StringBuilder(8192);
+        byte[] bytes = new byte[8192];
+        long sweepNanos = Math.max(1, flushNanos / 2);
+        long nextSweep = System.nanoTime() + sweepNanos;
+
+        while (true) {
+            Batch batch;
+            try {
+                if (flushNanos == 0) {
+                    batch = pending.take();
+                } else {
+                    batch = pending.poll(Math.max(0, nextSweep - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    long now = System.nanoTime();
+                    if (now - nextSweep >= 0) {
+                        for (TimedPlayerLog log : timed) {
+                            log.flushIfAged(now);
+                        }
+                        nextSweep = now + sweepNanos;
+                    }
+                }
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (batch == null) {
+                continue;
+            }
+            if (batch == SHUTDOWN) {
+                return;
+            }
+
+            AsyncPlayerLog owner = batch.owner;
+            sb.setLength(0);
+            format(sb, owner.playerId, batch);
+
+            // Lines are pure ASCII, so each char maps to one byte
+            int n = sb.length();
+            if (bytes.length < n) {
+                bytes = new byte[Math.max(n, bytes.length * 2)];
+            }
+            for (int i = 0; i < n; i++) {
+                bytes[i] = (byte) sb.charAt(i);
+            }
+
+            try {
+                owner.out.write(bytes, 0, n);
+                if (batch.last) {
+                    owner.out.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing to " + owner.file + ": " + e.getMessage());
+            }
+
+            batch.reset();
+            free.offer(batch);
+        }
+    }
+
+    /** Appends the text lines for every record in the batch. */
+    private static void format(StringBuilder sb, int playerId, Batch batch) {
+        String nl = System.lineSeparator();
+        int[] d = batch.data;
+        int i = 0;
+
+        while (i < batch.length) {
+            int code = d[i++];
+            switch (code) {
+                case INITIAL_HAND: {
+                    int n = d[i++];
+                    PlayerLogFormat.initialHand(sb, playerId, d, i, n).append(nl);
+                    i += n;
+                    break;
+                }
+                case TURN: {
+                    PlayerLogFormat.draws(sb, playerId, d[i], d[i + 1]).append(nl);
+                    PlayerLogFormat.discards(sb, playerId, d[i + 2], d[i + 3]).append(nl);
+                    int n = d[i + 4];
+                    i += 5;
+                    PlayerLogFormat.currentHand(sb, playerId, d, i, n).append(nl);
+                    i += n;
+                    break;
+                }
+                case WINS:
+                    PlayerLogFormat.wins(sb, playerId).append(nl);
+                    break;
+                case INFORMED:
+                    PlayerLogFormat.informed(sb, playerId, d[i++]).append(nl);
+                    break;
+                case EXITS:
+                    PlayerLogFormat.exits(sb, playerId).append(nl);
+                    break;
+                case FINAL_HAND:
+                case HAND: {
+                    int n = d[i++];
+                    PlayerLogFormat.finalHand(sb, playerId, code == FINAL_HAND, d, i, n).append(nl);
+                    i += n;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown log record " + code);
+            }
+        }
+    }
+
+    private Batch takeFree() {
+        Batch b = free.poll();
+        return b != null ? b : new Batch(batchRecords * INTS_PER_RECORD);
+    }
+
+    private void putUninterruptibly(Batch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                pending.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Block of records for one player. */
+    private static final class Batch {
+        AsyncPlayerLog owner;
+        int[] data;
+        int length;
+        int records;
+        long startNanos;
+        boolean last;
+
+        Batch(int capacity) {
+            this.data = new int[capacity];
+        }
+
+        void reset() {
+            owner = null;
+            length = 0;
+            records = 0;
+            last = false;
+        }
+    }
+
+    /** Player-side half: appends records to the current batch. */
+    private class AsyncPlayerLog implements PlayerLog {
+
+        final int playerId;
+        final String file;
+        final FileOutputStream out;
+        Batch batch;
+
+        AsyncPlayerLog(int playerId, String file, FileOutputStream out) {
+            this.playerId = playerId;
+            this.file = file;
+            this.out = out;
+            this.batch = takeFree();
+        }
+
+        @Override
+        public void initialHand(Hand hand) {
+            int i = begin(INITIAL_HAND, 1 + hand.size());
+            copyHand(hand, batch.data, i);
+            end();
+        }
+
+        @Override
+        public void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand) {
+            int i = begin(TURN, 5 + hand.size());
+            int[] d = batch.data;
+            d[i] = drawn;
+            d[i + 1] = fromDeck;
+            d[i + 2] = discarded;
+            d[i + 3] = toDeck;
+            copyHand(hand, d, i + 4);
+            end();
+        }
+
+        @Override
+        public void wins() {
+            begin(WINS, 0);
+            end();
+        }
+
+        @Override
+        public void informed(int winnerId) {
+            int i = begin(INFORMED, 1);
+            batch.data[i] = winnerId;
+            end();
+        }
+
+        @Override
+        public void exits() {
+            begin(EXITS, 0);
+            end();
+        }
+
+        @Override
+        public void finalHand(boolean winner, Hand hand) {
+            int i = begin(winner ? FINAL_HAND : HAND, 1 + hand.size());
+            copyHand(hand, batch.data, i);
+            end();
+        }
+
+        /** Stores the hand size at {@code index} followed by the card values. */
+        private void copyHand(Hand hand, int[] data, int index) {
+            int size = hand.size();
+            data[index] = size;
+            for (int s = 0; s < size; s++) {
+                data[index + 1 + s] = hand.get(s);
+            }
+        }
+
+        /** Queues the last batch; the writer closes the file after writing it. */
+        @Override
+        public void close() {
+            batch.last = true;
+            handOff();
+            batch = null;
+        }
+
+        /** Reserves space for a record and returns the index of its payload. */
+        private int begin(int code, int payload) {
+            int needed = 1 + payload;
+            if (batch.length + needed > batch.data.length) {
+                if (batch.records > 0) {
+                    handOff();
+                }
+                if (needed > batch.data.length) {
+                    batch.data = Arrays.copyOf(batch.data, needed);
+                }
+            }
+            if (batch.records == 0) {
+                batch.startNanos = flushNanos > 0 ? System.nanoTime() : 0;
+            }
+            int i = batch.length;
+            batch.data[i] = code;
+            batch.length = i + needed;
+            return i + 1;
+        }
+
+        /** Completes a record and hands the batch over if the flush policy says so. */
+        private void end() {
+            batch.records++;
+            if (batch.records >= batchRecords
+                    || (flushNanos > 0 && System.nanoTime() - batch.startNanos >= flushNanos)) {
+                handOff();
+            }
+        }
+
+        private void handOff() {
+            boolean last = batch.last;
+            batch.owner = this;
+            putUninterruptibly(batch);
+            batch = last ? null : takeFree();
+        }
+    }
+
+    /**
+     * Player log whose batch the writer thread may also hand over once it
+     * has aged; every record is appended under the log's own lock. The
+     * writer only ever tries the lock, since a player holding it may be
+     * waiting for the writer to make room in the queue.
+     */
+    private final class TimedPlayerLog extends AsyncPlayerLog {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        TimedPlayerLog(int playerId, String file, FileOutputStream out) {
+            super(playerId, file, out);
+        }
+
+        @Override
+        public void initialHand(Hand hand) {
+            lock.lock();
+            try {
+                super.initialHand(hand);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand) {
+            lock.lock();
+            try {
+                super.turn(drawn, fromDeck, discarded, toDeck, hand);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void wins() {
+            lock.lock();
+            try {
+                super.wins();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void informed(int winnerId) {
+            lock.lock();
+            try {
+                super.informed(winnerId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void exits() {
+            lock.lock();
+            try {
+                super.exits();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void finalHand(boolean winner, Hand hand) {
+            lock.lock();
+            try {
+                super.finalHand(winner, hand);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            timed.remove(this);
+            lock.lock();
+            try {
+                super.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Called by the writer thread: queues a non-empty batch older than
+         * the flush age. Never blocks; if the log is busy or the queue is
+         * full, the next sweep tries again.
+         */
+        void flushIfAged(long now) {
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (batch == null || batch.records == 0 || now - batch.startNanos < flushNanos) {
+                    return;
+                }
+                batch.owner = this;
+                if (pending.offer(batch)) {
+                    batch = takeFree();
+                } else {
+                    batch.owner = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
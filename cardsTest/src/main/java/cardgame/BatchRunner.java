@@ -0,0 +1,184 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many independent games in one JVM, several at a time.
+ * Each game has its own {@link GameSession} and writes its output files
+ * to its own subdirectory ({@code game1}, {@code game2}, ...).
+ * <p>
+ * Usage: {@code java -cp cards.jar cardgame.BatchRunner <players> <outputDir> <parallelGames> <pack>...}
+ * <br>
+ * Deck, log and engine settings are read from the usual system properties.
+ * Cooperative games all share one worker pool.
+ */
+public class BatchRunner {
+
+    /** Outcome of one game in a batch. */
+    public static final class Result {
+
+        private final int game;
+        private final int winnerId;
+        private final long nanos;
+        private final long shutdownNanos;
+
+        Result(int game, int winnerId, long nanos, long shutdownNanos) {
+            this.game = game;
+            this.winnerId = winnerId;
+            this.nanos = nanos;
+            this.shutdownNanos = shutdownNanos;
+        }
+
+        /** Returns the 1-based position of the game in the batch. */
+        public int getGame() {
+            return game;
+        }
+
+        /** Returns the winning player's ID, or -1 if the game ended without a winner. */
+        public int getWinnerId() {
+            return winnerId;
+        }
+
+        /** Returns the wall-clock time the game took, in nanoseconds. */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /** Returns the time from the end of the game to the last player exit, in nanoseconds. */
+        public long getShutdownNanos() {
+            return shutdownNanos;
+        }
+    }
+
+    /** Runs the batch described on the command line. */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: BatchRunner <players> <outputDir> <parallelGames> <pack>...");
+            System.exit(2);
+        }
+
+        int numPlayers;
+        int parallelGames;
+        GameOptions options;
+        try {
+            numPlayers = GameOptions.parsePositive(args[0], "players");
+            parallelGames = GameOptions.parsePositive(args[2], "parallelGames");
+            options = GameOptions.fromSystemProperties();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        // Load and check every pack before starting, so a bad or unwinnable pack fails the batch up front
+        List<int[]> packs = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            try {
+                int[] pack = PackReader.readPackValues(args[i], numPlayers);
+                if (options.isAnalyzePack()) {
+                    PackAnalyzer.check(pack, numPlayers, options.getDiscardStrategy());
+                }
+                packs.add(pack);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Invalid pack " + args[i] + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Result> results = run(numPlayers, packs, options, Path.of(args[1]), parallelGames);
+        long elapsed = System.nanoTime() - start;
+
+        for (Result r : results) {
+            String outcome = r.getWinnerId() == -1 ? "no winner" : "player " + r.getWinnerId() + " wins";
+            System.out.println("game " + r.getGame() + " (" + args[r.getGame() + 2] + "): " + outcome
+                    + " in " + r.getNanos() / 1_000_000 + " ms, last exit "
+                    + r.getShutdownNanos() / 1_000 + " us after the end");
+        }
+        System.out.println("Batch finished: " + results.size() + " games in " + elapsed / 1_000_000 + " ms");
+    }
+
+    /**
+     * Plays every pack as a separate game, at most {@code parallelGames} at once.
+     *
+     * @param numPlayers    number of players in every game
+     * @param packs         validated packs, one per game
+     * @param options       settings shared by all games; the output directory is replaced per game
+     * @param outputRoot    directory under which each game gets its own subdirectory
+     * @param parallelGames maximum number of games running at the same time
+     * @return results in pack order
+     */
+    public static List<Result> run(int numPlayers, List<int[]> packs, GameOptions options,
+                                   Path outputRoot, int parallelGames) {
+
+        ExecutorService games = Executors.newFixedThreadPool(parallelGames);
+
+        // Cooperative games share one pool of workers instead of one pool each
+        ExecutorService sharedWorkers = null;
+        if (options.getEngine() == Engine.COOPERATIVE && options.getWorkerPool() == null) {
+            sharedWorkers = Executors.newFixedThreadPool(options.getWorkers(), r -> {
+                Thread t = new Thread(r, "cooperative-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < packs.size(); i++) {
+                int game = i + 1;
+                int[] pack = packs.get(i);
+                GameOptions gameOptions = options.copy().setAnnounceWin(false)
+                        .setOutputDir(outputRoot.resolve("game" + game));
+                if (sharedWorkers != null) {
+                    gameOptions.setWorkerPool(sharedWorkers);
+                }
+
+                futures.add(games.submit(() -> {
+                    long start = System.nanoTime();
+                    GameSession session = new GameSession();
+                    int winner = CardGame.playGame(session, numPlayers, pack, gameOptions);
+                    return new Result(game, winner, System.nanoTime() - start, session.getShutdownNanos());
+                }));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> f : futures) {
+                results.add(await(f));
+            }
+            return results;
+        } finally {
+            games.shutdown();
+            if (sharedWorkers != null) {
+                sharedWorkers.shutdown();
+            }
+        }
+    }
+
+    /** Waits for a game, rethrowing any failure unchecked. */
+    private static Result await(Future<Result> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Game failed: " + e.getCause(), e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
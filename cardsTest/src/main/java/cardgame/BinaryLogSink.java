@@ -0,0 +1,189 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes each player's actions as fixed-width binary event records to
+ * {@code playerN_output.bin}. No text is formatted during the game;
+ * {@link EventLogDecoder} regenerates the text output files afterwards.
+ * <p>
+ * Every record is {@link #RECORD_BYTES} bytes, big-endian:
+ * <pre>
+ *   long  sequence   per-player event number, starting at 0
+ *   int   playerId
+ *   int   deckId     deck drawn from / discarded to, otherwise 0
+ *   int   value      card value, hand size, winner ID or winner flag
+ *   short type       one of the event codes below
+ *   short slot       hand position of a dealt or discarded card, otherwise 0
+ * </pre>
+ * A player's hand is not stored; the decoder replays it from the
+ * INITIAL/DEAL, DRAW and DISCARD events.
+ */
+public class BinaryLogSink implements LogSink {
+
+    /** Size of one event record in bytes. */
+    static final int RECORD_BYTES = 24;
+
+    /** Start of the initial hand; value = number of DEAL events that follow. */
+    static final short INITIAL = 0;
+    /** One card of the initial hand; value = card, slot = position. */
+    static final short DEAL = 1;
+    /** Card drawn; deckId = source deck, value = card (appended to the hand). */
+    static final short DRAW = 2;
+    /** Card discarded; deckId = target deck, value = card, slot = position removed. */
+    static final short DISCARD = 3;
+    /** The player has won. */
+    static final short WIN = 4;
+    /** Another player has won; value = winner ID. */
+    static final short INFORMED = 5;
+    /** The player has stopped playing. */
+    static final short EXIT = 6;
+    /** Hand held on exit; value = 1 if this player is the winner, else 0. */
+    static final short FINAL_HAND = 7;
+
+    // Records buffered per player before a write
+    private static final int BUFFER_RECORDS = 512;
+
+    private final Path directory;
+
+    /** Creates a sink writing to the working directory. */
+    public BinaryLogSink() {
+        this(Path.of(""));
+    }
+
+    /** Creates a sink writing to the given directory. */
+    public BinaryLogSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public PlayerLog open(int playerId) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(PlayerLogFormat.binaryFileName(playerId)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new BinaryPlayerLog(playerId, channel);
+    }
+
+    /** Each player log writes its own file, so nothing is shared. */
+    @Override
+    public void close() {
+    }
+
+    /** Buffers records for one player and writes them in blocks. */
+    private static final class BinaryPlayerLog implements PlayerLog {
+
+        private final int playerId;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_BYTES);
+        private long sequence = 0;
+        private IOException failure;       // First write error, reported on close
+
+        // Copy of the last logged hand, used to find which slot a discard came from
+        private int[] shadow = new int[5];
+        private int shadowSize = 0;
+
+        BinaryPlayerLog(int playerId, FileChannel channel) {
+            this.playerId = playerId;
+            this.channel = channel;
+        }
+
+        @Override
+        public void initialHand(Hand hand) {
+            int size = hand.size();
+            record(INITIAL, 0, size, 0);
+            for (int i = 0; i < size; i++) {
+                record(DEAL, 0, hand.get(i), i);
+            }
+            copyToShadow(hand);
+        }
+
+        @Override
+        public void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand) {
+            record(DRAW, fromDeck, drawn, 0);
+
+            // Hand before discard is shadow + drawn; the slot removed is the first mismatch
+            int slot = 0;
+            while (slot < shadowSize && slot < hand.size() && shadow[slot] == hand.get(slot)) {
+                slot++;
+            }
+            record(DISCARD, toDeck, discarded, slot);
+            copyToShadow(hand);
+        }
+
+        @Override
+        public void wins() {
+            record(WIN, 0, 0, 0);
+        }
+
+        @Override
+        public void informed(int winnerId) {
+            record(INFORMED, 0, winnerId, 0);
+        }
+
+        @Override
+        public void exits() {
+            record(EXIT, 0, 0, 0);
+        }
+
+        @Override
+        public void finalHand(boolean winner, Hand hand) {
+            record(FINAL_HAND, 0, winner ? 1 : 0, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (failure == null) {
+                    drain();
+                }
+            } finally {
+                channel.close();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private void copyToShadow(Hand hand) {
+            int size = hand.size();
+            if (shadow.length < size) {
+                shadow = new int[size];
+            }
+            for (int i = 0; i < size; i++) {
+                shadow[i] = hand.get(i);
+            }
+            shadowSize = size;
+        }
+
+        private void record(short type, int deckId, int value, int slot) {
+            if (failure != null) {
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                try {
+                    drain();
+                } catch (IOException e) {
+                    failure = e;
+                    return;
+                }
+            }
+            buffer.putLong(sequence++)
+                    .putInt(playerId)
+                    .putInt(deckId)
+                    .putInt(value)
+                    .putShort(type)
+                    .putShort((short) slot);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -6,6 +6,18 @@ package cardgame;
  */
 public class Card {
 
+    // Values in [0, CACHE_SIZE) are served from a shared canonical instance
+    static final int CACHE_SIZE = 1024;
+
+    // Preallocated canonical cards, indexed by value
+    private static final Card[] CACHE = new Card[CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            CACHE[i] = new Card(i);
+        }
+    }
+
     // The value of this card (denomination)
     private final int value;
 
@@ -22,6 +34,22 @@ public class Card {
         this.value = value;
     }
 
+    /**
+     * Returns a card with the specified value.
+     * Values below {@link #CACHE_SIZE} share a single canonical instance;
+     * larger values fall back to a fresh allocation.
+     *
+     * @param value non-negative integer for card denomination
+     * @return card with the given value
+     * @throws IllegalArgumentException if value is negative
+     */
+    public static Card valueOf(int value) {
+        if (value >= 0 && value < CACHE_SIZE) {
+            return CACHE[value];
+        }
+        return new Card(value);
+    }
+
     /**
      * Returns the card's value.
      *
@@ -1,9 +1,10 @@
 package cardgame;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.function.IntConsumer;
 
 /**
  * Main class for the multi-threaded card game simulation.
@@ -12,46 +13,64 @@ import java.util.Scanner;
  */
 public class CardGame {
 
-    private static volatile boolean gameWon = false;   // Flag indicating whether a player has won
-    private static volatile int winnerId = -1;         // ID of winning player
-    private static Deck[] allDecks;                    // Array of all decks for signalling threads
+    // Session of the most recent game started by playGame, used by the static accessors
+    // below and by decks and players created without an explicit session
+    private static volatile GameSession currentSession = new GameSession();
 
-    /** Returns true if the game has already been won. */
+    /** Returns the session of the most recently started game. */
+    public static GameSession currentSession() {
+        return currentSession;
+    }
+
+    /** Returns true if the most recently started game has already been won. */
     public static boolean isGameWon() {
-        return gameWon;
+        return currentSession.isGameWon();
     }
 
-    /** Returns the ID of the winning player, or -1 if none yet. */
+    /** Returns the ID of the winning player of the most recently started game, or -1 if none yet. */
     public static int getWinnerId() {
-        return winnerId;
+        return currentSession.getWinnerId();
     }
 
     /**
-     * Attempt to declare the calling player as the winner.
-     * If successful, updates game state and signals all waiting deck threads.
+     * Attempt to declare the given player as the winner of the most recently started game.
      *
      * @param playerId ID of the player trying to declare victory
      * @return true if the win was successfully declared, false otherwise
+     * @see GameSession#tryDeclareWin(int)
      */
-    public static synchronized boolean tryDeclareWin(int playerId) {
-        if (!gameWon) {
-            gameWon = true;
-            winnerId = playerId;
-
-            // Wake up all threads waiting on decks
-            if (allDecks != null) {
-                for (Deck d : allDecks) {
-                    d.signalAllWaiting();
-                }
-            }
-            return true;
-        }
-        return false;
+    public static boolean tryDeclareWin(int playerId) {
+        return currentSession.tryDeclareWin(playerId);
     }
 
-    /** Main method: sets up and runs the card game simulation. */
+    /** Command-line usage of the headless mode. */
+    private static final String HEADLESS_USAGE =
+            "Usage: CardGame <players> <pack> <outputDir> <engine> <logMode> [json|csv|csv_row]";
+
+    /**
+     * Main method: sets up and runs the card game simulation.
+     * Without arguments the player count and pack are read from the console;
+     * with arguments the game runs headless (see {@link #runHeadless(String[], GameOptions)}).
+     * Either way a bad {@code cardgame.*} system property exits with status 2.
+     */
     public static void main(String[] args) {
 
+        // Read launch options (deck implementation etc.) from system properties
+        GameOptions options;
+        try {
+            options = GameOptions.fromSystemProperties();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(HEADLESS_USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (args.length > 0) {
+            runHeadless(args, options);
+            return;
+        }
+
         try (Scanner scanner = new Scanner(System.in)) {
 
             // Read number of players from console input
@@ -60,28 +79,287 @@ public class CardGame {
             // Read pack file path from console input
             String path = readFilePath(scanner);
 
-            // Read and validate the pack contents
-            List<Card> pack = getValidPack(path, numPlayers, scanner);
+            // Read and validate the pack contents, and check that it can produce a winner
+            int[] pack = getValidPack(path, numPlayers, scanner, options);
+
+            // Play the game and write all output files
+            playGame(numPlayers, pack, options);
+
+            // Print game completion message
+            System.out.println("Game finished.");
+        }
+    }
+
+    /**
+     * Plays one game described entirely by command-line arguments and prints
+     * a {@link GameReport} when it is over, so runs can be scripted and compared.
+     * <p>
+     * Arguments: {@code <players> <pack> <outputDir> <engine> <logMode> [json|csv|csv_row]}.
+     * Other settings are read from the usual system properties; with
+     * {@code -Dcardgame.pack.stream=true} the pack is dealt while it is read.
+     * Exits with status 2 on bad arguments and 1 on an invalid pack.
+     */
+    private static void runHeadless(String[] args, GameOptions options) {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println(HEADLESS_USAGE);
+            System.exit(2);
+        }
+
+        int numPlayers;
+        ReportFormat format;
+        try {
+            numPlayers = GameOptions.parsePositive(args[0], "players");
+
+            // Standard output holds only the report, so it can be piped or appended to a file
+            options.setAnnounceWin(false).setOutputDir(Path.of(args[2]))
+                    .setEngine(GameOptions.parseEnum(Engine.class, args[3], "engine"))
+                    .setLogMode(GameOptions.parseEnum(LogMode.class, args[4], "logMode"));
+            format = args.length == 6 ? GameOptions.parseEnum(ReportFormat.class, args[5], "format") : ReportFormat.JSON;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(HEADLESS_USAGE);
+            System.exit(2);
+            return;
+        }
+
+        GameSession session = new GameSession();
+        currentSession = session;
+        GameReport report;
+        if (options.isStreamPack()) {
+
+            // Dealt while read, so the pack load is part of the deal time
+            try {
+                report = playGameWithReport(session, numPlayers, Path.of(args[1]), options);
+            } catch (IOException | IllegalArgumentException e) {
+                exitInvalidPack(args[1], e);
+                return;
+            }
+        } else {
+
+            // Read and validate the pack, timed as its own phase
+            long loadStart = System.nanoTime();
+            int[] pack;
+            try {
+                pack = PackReader.readPackValues(args[1], numPlayers);
+            } catch (IOException | IllegalArgumentException e) {
+                exitInvalidPack(args[1], e);
+                return;
+            }
+            long packLoadNanos = System.nanoTime() - loadStart;
+
+            // Refuse a pack that can never finish before any player starts
+            if (options.isAnalyzePack()) {
+                try {
+                    PackAnalyzer.Result analysis = PackAnalyzer.check(pack, numPlayers, options.getDiscardStrategy());
+                    if (analysis.getVerdict() == PackAnalyzer.Verdict.TERMINATES) {
+                        System.err.println("Pack analysis: " + analysis.describe());
+                    }
+                } catch (IllegalArgumentException e) {
+                    exitInvalidPack(args[1], e);
+                    return;
+                }
+            }
+
+            report = playGameWithReport(session, numPlayers, pack, options).withPackLoadNanos(packLoadNanos);
+        }
+
+        System.out.print(format.format(report));
+    }
+
+    /** Reports a pack the headless mode cannot play and exits with status 1. */
+    private static void exitInvalidPack(String path, Exception e) {
+        System.err.println("Invalid pack " + path + ": " + e.getMessage());
+        System.exit(1);
+    }
+
+    /**
+     * Plays one complete game with an already validated pack and writes
+     * all player and deck output files before returning.
+     *
+     * @param numPlayers number of players
+     * @param pack       card values, exactly 8 * numPlayers of them
+     * @param options    deck and log settings
+     * @return ID of the winning player
+     */
+    public static int playGame(int numPlayers, int[] pack, GameOptions options) {
+        GameSession session = new GameSession();
+        currentSession = session;
+        return playGame(session, numPlayers, pack, options);
+    }
+
+    /**
+     * Plays one complete game in the given session. Unlike
+     * {@link #playGame(int, int[], GameOptions)} this does not change the
+     * current session, so any number of games may run at once provided
+     * each has its own session and output directory.
+     *
+     * @param session    fresh session owning this game's state
+     * @param numPlayers number of players
+     * @param pack       card values, exactly 8 * numPlayers of them
+     * @param options    deck, log, engine and output settings
+     * @return ID of the winning player, or -1 if the game ended without one
+     */
+    public static int playGame(GameSession session, int numPlayers, int[] pack, GameOptions options) {
+        return playGameWithReport(session, numPlayers, pack, options).getWinnerId();
+    }
+
+    /**
+     * Plays one complete game in the given session, like
+     * {@link #playGame(GameSession, int, int[], GameOptions)}, and reports how
+     * long each phase took, how many turns were taken and the deepest deck.
+     * The pack load time of the report is 0, since the pack is already loaded.
+     *
+     * @param session    fresh session owning this game's state
+     * @param numPlayers number of players
+     * @param pack       card values, exactly 8 * numPlayers of them
+     * @param options    deck, log, engine and output settings
+     * @return report of the finished game
+     */
+    public static GameReport playGameWithReport(GameSession session, int numPlayers, int[] pack, GameOptions options) {
+        long dealStart = System.nanoTime();
+
+        Deck[] decks = setUpDecks(session, numPlayers, options);
+
+        // Deal the pack: hands are held back until the players exist, the rest go to the decks
+        Dealer dealer = new Dealer(decks);
+        for (int v : pack) {
+            dealer.accept(v);
+        }
+
+        return play(session, decks, dealer, options, dealStart);
+    }
+
+    /**
+     * Plays one complete game in the given session, dealing the pack while it
+     * is read from the file instead of loading it first (see
+     * {@link PackReader#streamPackValues(String, int, java.util.function.IntConsumer)}).
+     * Only the decks and the cards of the initial hands are ever held in
+     * memory. Reading the pack is part of the deal time of the report.
+     *
+     * @param session    fresh session owning this game's state
+     * @param numPlayers number of players
+     * @param packFile   pack file, which must hold exactly 8 * numPlayers cards
+     * @param options    deck, log, engine and output settings
+     * @return report of the finished game
+     * @throws IOException              if the pack cannot be read
+     * @throws IllegalArgumentException if the pack is invalid; no player log has been written then
+     */
+    public static GameReport playGameWithReport(GameSession session, int numPlayers, Path packFile, GameOptions options)
+            throws IOException {
+        long dealStart = System.nanoTime();
+
+        // Nothing is built for the players until the file could hold their pack
+        PackReader.checkPackFile(packFile.toString(), numPlayers);
+        Deck[] decks = setUpDecks(session, numPlayers, options);
+
+        // Deal each card as soon as it is parsed
+        Dealer dealer = new Dealer(decks);
+        PackReader.streamPackValues(packFile.toString(), numPlayers, dealer);
+
+        return play(session, decks, dealer, options, dealStart);
+    }
+
+    /**
+     * Creates the output directory and the decks of a game, and registers
+     * the decks with the session.
+     */
+    private static Deck[] setUpDecks(GameSession session, int numPlayers, GameOptions options) {
+
+        // Make sure the output directory exists
+        Path outputDir = options.getOutputDir();
+        try {
+            Files.createDirectories(outputDir);
+        } catch (IOException e) {
+            System.err.println("Error creating output directory " + outputDir + ": " + e.getMessage());
+        }
+
+        // Create decks and register them with the session for signalling threads
+        Deck[] decks = createDecks(numPlayers, options.getDeckMode(), options.getWaitStrategy(), session);
+        session.setDecks(decks);
+        return decks;
+    }
+
+    /**
+     * Creates the players of a dealt game, hands them their cards, plays the
+     * game and writes all output files.
+     */
+    private static GameReport play(GameSession session, Deck[] decks, Dealer dealer, GameOptions options, long dealStart) {
+        int numPlayers = decks.length;
+        Path outputDir = options.getOutputDir();
+
+        // Open the player logs (text or asynchronous batched writer)
+        LogSink logSink = options.getLogMode().open(options);
+
+        // Create player objects and assign left/right decks
+        Player[] players = createPlayers(numPlayers, decks, logSink, session,
+                handModeFor(dealer.getMaxValue(), options.getHandMode()), options.getDiscardStrategy());
+        if (!options.isAnnounceWin()) {
+            for (Player p : players) {
+                p.setAnnounceWin(false);
+            }
+        }
+
+        // Give the players their initial hands
+        dealer.dealHands(players);
+
+        // Publish live metrics over JMX if requested
+        GameMetrics metrics = options.isMetrics() ? GameMetrics.register(session, players, decks) : null;
+
+        long playStart = System.nanoTime();
+
+        // End the game without a winner if it stalls or runs past its budget
+        Watchdog watchdog = Watchdog.start(session, players, decks, options);
+
+        // Run the players (own threads, cooperative tasks or simulated turns) until all have finished
+        if (options.getEngine() == Engine.SIMULATED) {
+            SimulationEngine.play(players, options.getSeed());
+        } else if (options.getEngine() == Engine.COOPERATIVE) {
+            if (options.getWorkerPool() != null) {
+                CooperativeEngine.play(players, options.getWorkerPool());
+            } else {
+                CooperativeEngine.play(players, options.getWorkers());
+            }
+        } else {
+            startPlayerThreads(players, options.getExecutionMode());
+        }
+
+        if (watchdog != null) {
+            watchdog.stop();
+        }
 
-            // Create decks and register them globally for signalling threads
-            Deck[] decks = createDecks(numPlayers);
-            allDecks = decks;
+        long outputStart = System.nanoTime();
 
-            // Create player objects and assign left/right decks
-            Player[] players = createPlayers(numPlayers, decks);
+        if (logSink instanceof SegmentLogSink) {
 
-            // Distribute initial hands to players and remaining cards to decks
-            distributeCards(pack, players, decks);
+            // Deck files go into the same segments, whose indexes are written on close
+            DeckOutputWriter.writeAll(decks, (SegmentLogSink) logSink);
+            closeLogs(logSink);
+        } else {
 
-            // Start player threads and wait for them to complete
-            startPlayerThreads(players);
+            // Make sure every player log is fully written
+            closeLogs(logSink);
 
             // Write final deck contents to output files
-            writeDeckOutputs(decks);
+            writeDeckOutputs(decks, outputDir);
+        }
 
-            // Print game completion message
-            System.out.println("Game finished.");
+        long end = System.nanoTime();
+
+        if (metrics != null) {
+            metrics.unregister();
+        }
+
+        long totalTurns = 0;
+        for (Player p : players) {
+            totalTurns += p.getTurns();
         }
+        int peakDeckDepth = 0;
+        for (Deck d : decks) {
+            peakDeckDepth = Math.max(peakDeckDepth, d.getMaxDepth());
+        }
+
+        return new GameReport(numPlayers, options.getEngine(), options.getLogMode(), session.getWinnerId(),
+                totalTurns, peakDeckDepth, 0, playStart - dealStart, outputStart - playStart, end - outputStart);
     }
 
     /** Reads and validates the number of players from console input. */
@@ -109,11 +387,15 @@ public class CardGame {
         }
     }
 
-    /** Reads and validates the pack; retries until a valid pack is provided. */
-    private static List<Card> getValidPack(String path, int numPlayers, Scanner consoleScanner) {
+    /** Reads and validates the pack; retries until a valid (and, if analysed, winnable) pack is provided. */
+    private static int[] getValidPack(String path, int numPlayers, Scanner consoleScanner, GameOptions options) {
         while (true) {
             try {
-                return PackReader.readPack(path, numPlayers);
+                int[] pack = PackReader.readPackValues(path, numPlayers);
+                if (options.isAnalyzePack()) {
+                    PackAnalyzer.check(pack, numPlayers, options.getDiscardStrategy());
+                }
+                return pack;
             } catch (IOException | IllegalArgumentException e) {
                 System.out.println("Invalid pack: " + e.getMessage());
                 System.out.print("Enter pack file path: ");
@@ -122,52 +404,94 @@ public class CardGame {
         }
     }
 
-    /** Creates an array of decks with sequential IDs from 1 to numPlayers. */
-    private static Deck[] createDecks(int numPlayers) {
+    /** Creates an array of decks of the given kind and wait strategy with sequential IDs from 1 to numPlayers. */
+    private static Deck[] createDecks(int numPlayers, DeckMode mode, WaitStrategy waitStrategy, GameSession session) {
         Deck[] decks = new Deck[numPlayers];
         for (int i = 0; i < numPlayers; i++) {
-            decks[i] = new Deck(i + 1);
+            decks[i] = mode.create(i + 1, Deck.DEFAULT_CAPACITY, session);
+            decks[i].setWaitStrategy(waitStrategy);
         }
         return decks;
     }
 
-    /** Creates player objects, assigning each their left and right decks. */
-    private static Player[] createPlayers(int numPlayers, Deck[] decks) {
+    /** Creates player objects, assigning each their left and right decks, the shared log sink and discard strategy. */
+    private static Player[] createPlayers(int numPlayers, Deck[] decks, LogSink logSink, GameSession session, HandMode handMode,
+                                          DiscardStrategy discardStrategy) {
         Player[] players = new Player[numPlayers];
         for (int i = 0; i < numPlayers; i++) {
             Deck left = decks[i];
             Deck right = decks[(i + 1) % numPlayers];
-            players[i] = new Player(i + 1, left, right);
+            players[i] = new Player(i + 1, left, right, logSink, session, handMode, discardStrategy);
         }
         return players;
     }
 
+    /** Returns the requested hand mode, or slot hands if the pack has cards a packed hand cannot hold. */
+    private static HandMode handModeFor(int maxValue, HandMode requested) {
+        if (requested == HandMode.PACKED && maxValue > PackedHand.MAX_VALUE) {
+            System.err.println("Card value " + maxValue + " does not fit a packed hand; using slot hands");
+            return HandMode.SLOT;
+        }
+        return requested;
+    }
+
     /**
-     * Distributes cards to players and decks.
-     * - First 4 * numPlayers cards are dealt round-robin to players (initial hands).
-     * - Remaining cards are distributed round-robin to the decks.
+     * Deals a pack one card at a time, in pack order.
+     * - First 4 * numPlayers cards are the initial hands, dealt round-robin
+     *   to players. They are held until {@link #dealHands(Player[])}, so the
+     *   hand implementation can be chosen once the whole pack has been seen.
+     * - Remaining cards are distributed round-robin to the decks as they arrive.
+     * Each deck is presized to twice its dealt share so that normal play
+     * does not reallocate deck storage.
      */
-    private static void distributeCards(List<Card> pack, Player[] players, Deck[] decks) {
-        int numPlayers = players.length;
-        int index = 0;
+    private static final class Dealer implements IntConsumer {
 
-        for (int round = 0; round < 4; round++) {
-            for (Player p : players) {
-                p.addCard(pack.get(index++));
+        private final Deck[] decks;
+        private final int[] hands;
+        private int index = 0;
+        private int maxValue = 0;
+
+        Dealer(Deck[] decks) {
+            this.decks = decks;
+            this.hands = new int[4 * decks.length];
+
+            // A pack of 8 * numPlayers cards leaves four for each deck
+            int perDeck = 4;
+            for (Deck d : decks) {
+                d.ensureCapacity(2 * perDeck);
+            }
+        }
+
+        @Override
+        public void accept(int value) {
+            if (index < hands.length) {
+                hands[index] = value;
+            } else {
+                decks[index % decks.length].addValue(value);
             }
+            index++;
+            maxValue = Math.max(maxValue, value);
+        }
+
+        /** Returns the largest card value dealt so far. */
+        int getMaxValue() {
+            return maxValue;
         }
 
-        for (int i = index; i < pack.size(); i++) {
-            decks[i % numPlayers].addCard(pack.get(i));
+        /** Gives each player the cards of its initial hand, round-robin. */
+        void dealHands(Player[] players) {
+            for (int i = 0; i < hands.length; i++) {
+                players[i % players.length].addValue(hands[i]);
+            }
         }
     }
 
-    /** Starts all player threads and waits for them to finish execution. */
-    private static void startPlayerThreads(Player[] players) {
+    /** Starts all player threads of the given kind and waits for them to finish execution. */
+    private static void startPlayerThreads(Player[] players, ExecutionMode mode) {
         Thread[] threads = new Thread[players.length];
 
         for (int i = 0; i < players.length; i++) {
-            threads[i] = new Thread(players[i]);
+            threads[i] = mode.newThread(players[i]);
             threads[i].start();
         }
 
@@ -180,18 +504,17 @@ public class CardGame {
         }
     }
 
-    /** Writes the final contents of all decks to their respective output files. */
-    private static void writeDeckOutputs(Deck[] decks) {
-        for (Deck d : decks) {
-            try (PrintWriter pw = new PrintWriter("deck" + d.getDeckId() + "_output.txt")) {
-                pw.print("deck" + d.getDeckId() + " contents:");
-                for (Card c : d.getContents()) {
-                    pw.print(" " + c.getValue());
-                }
-                pw.println();
-            } catch (IOException e) {
-                System.err.println("Error writing deck output for deck " + d.getDeckId() + ": " + e.getMessage());
-            }
+    /** Flushes and closes the player log sink once all players have finished. */
+    private static void closeLogs(LogSink logSink) {
+        try {
+            logSink.close();
+        } catch (IOException e) {
+            System.err.println("Error writing player logs: " + e.getMessage());
         }
     }
+
+    /** Writes the final contents of all decks to their respective output files. */
+    private static void writeDeckOutputs(Deck[] decks, Path outputDir) {
+        DeckOutputWriter.writeAll(decks, outputDir);
+    }
 }
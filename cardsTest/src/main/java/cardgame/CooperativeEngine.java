@@ -0,0 +1,199 @@
+package cardgame;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a game on a fixed pool of worker threads instead of one thread per
+ * player. Each player is a task that plays turns until its left deck is
+ * empty and then goes idle; the deck's readiness listener schedules it
+ * again when a card arrives. Players never block waiting for cards.
+ * <p>
+ * Game rules, log output and the use of {@link GameSession#tryDeclareWin}
+ * are the same as for threaded players.
+ */
+public class CooperativeEngine {
+
+    // Turns a player may take before yielding its worker to other players
+    private static final int TURNS_PER_SLICE = 64;
+
+    // Task states
+    private static final int IDLE = 0;        // Waiting for its left deck to receive a card
+    private static final int SCHEDULED = 1;   // Queued on, or running on, a worker
+    private static final int DONE = 2;        // Finished and logged its exit
+
+    private final ExecutorService workers;
+    private final boolean ownsWorkers;
+    private final PlayerTask[] tasks;
+    private final GameSession session;
+    private final CountDownLatch finished;
+
+    private CooperativeEngine(Player[] players, ExecutorService workers, boolean ownsWorkers) {
+        this.workers = workers;
+        this.ownsWorkers = ownsWorkers;
+        this.tasks = new PlayerTask[players.length];
+        this.session = players[0].getSession();
+        this.finished = new CountDownLatch(players.length);
+        for (int i = 0; i < players.length; i++) {
+            tasks[i] = new PlayerTask(players[i]);
+        }
+    }
+
+    /**
+     * Plays a game with already dealt players and returns when every player
+     * has finished and closed its log.
+     *
+     * @param players    players with their initial hands
+     * @param numWorkers number of worker threads, usually one per core
+     */
+    public static void play(Player[] players, int numWorkers) {
+        ExecutorService workers = Executors.newFixedThreadPool(numWorkers, r -> {
+            Thread t = new Thread(r, "cooperative-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        new CooperativeEngine(players, workers, true).run();
+    }
+
+    /**
+     * Plays a game on an existing worker pool, which may be shared with
+     * other games and is left running afterwards.
+     *
+     * @param players players with their initial hands
+     * @param workers pool to run player tasks on
+     */
+    public static void play(Player[] players, ExecutorService workers) {
+        new CooperativeEngine(players, workers, false).run();
+    }
+
+    private void run() {
+        try {
+            // Log initial hands (a player may win at the deal) before anyone plays
+            for (PlayerTask task : tasks) {
+                task.begin();
+            }
+
+            // Cards arriving from now on make the drawing player runnable
+            for (PlayerTask task : tasks) {
+                if (task.state.get() != DONE) {
+                    task.player.getLeftDeck().setReadinessListener(task::schedule);
+                }
+            }
+
+            // Ending the game from anywhere makes the idle players runnable to see it
+            session.setEndListener(this::wakeAll);
+
+            for (PlayerTask task : tasks) {
+                task.schedule();
+            }
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    finished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            session.setEndListener(null);
+            for (PlayerTask task : tasks) {
+                task.player.getLeftDeck().setReadinessListener(null);
+            }
+            if (ownsWorkers) {
+                workers.shutdown();
+            }
+        }
+    }
+
+    /** Makes every idle player runnable so it sees the game has ended. */
+    private void wakeAll() {
+        for (PlayerTask task : tasks) {
+            task.schedule();
+        }
+    }
+
+    /** One player as a schedulable task. */
+    private final class PlayerTask implements Runnable {
+
+        final Player player;
+        final AtomicInteger state = new AtomicInteger(IDLE);
+        private PlayerLog log;
+
+        PlayerTask(Player player) {
+            this.player = player;
+        }
+
+        /** Opens the log and records the initial hand. */
+        void begin() {
+            try {
+                log = player.openLog();
+            } catch (IOException e) {
+                System.err.println("Error writing to " + PlayerLogFormat.fileName(player.getPlayerId()) + ": " + e.getMessage());
+                state.set(DONE);
+                finished.countDown();
+                return;
+            }
+            if (player.begin(log)) {
+                finish();
+            }
+        }
+
+        /** Queues this player on a worker unless it is already queued or done. */
+        void schedule() {
+            if (state.get() == IDLE && state.compareAndSet(IDLE, SCHEDULED)) {
+                workers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < TURNS_PER_SLICE; i++) {
+                int drawn = player.takeTurn();
+
+                if (drawn == Player.GAME_OVER) {
+                    finish();
+                    return;
+                }
+
+                if (drawn == Deck.EMPTY) {
+                    state.set(IDLE);
+
+                    // A card or the end of the game may have arrived before going idle
+                    if ((player.getSession().isGameWon() || !player.getLeftDeck().isEmpty())
+                            && state.compareAndSet(IDLE, SCHEDULED)) {
+                        continue;
+                    }
+                    return;
+                }
+
+                // A win runs the end listener, which wakes the idle players
+                if (player.completeTurn(log, drawn)) {
+                    finish();
+                    return;
+                }
+            }
+
+            // Let other players use this worker
+            workers.execute(this);
+        }
+
+        private void finish() {
+            player.finish(log);
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Error writing to " + PlayerLogFormat.fileName(player.getPlayerId()) + ": " + e.getMessage());
+            }
+            state.set(DONE);
+            finished.countDown();
+        }
+    }
+}
@@ -1,29 +1,56 @@
 package cardgame;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a single deck of cards.
  * Thread-safe for concurrent access by multiple players.
+ * <p>
+ * This class is the locking deck. Lock-free subclasses such as
+ * {@link SpscDeck} keep their own storage and use the protected
+ * constructor, which allocates neither storage nor lock.
  */
 public class Deck {
 
+    /** Value returned by {@link #pollFirstValue()} when the deck is empty. */
+    public static final int EMPTY = -1;
+
+    // Initial ring capacity when no size hint is given
+    static final int DEFAULT_CAPACITY = 8;
+
     // Identifier for this deck (1..n)
     private final int deckId;
 
-    // Internal storage for cards, treated as a FIFO queue
-    private final Deque<Card> cards = new ArrayDeque<>();
+    // Game this deck belongs to
+    private final GameSession session;
+
+    // Internal storage for card values, treated as a FIFO queue; null in lock-free subclasses
+    private final IntRing cards;
+
+    // Lock for thread-safe access; null in lock-free subclasses
+    private final ReentrantLock lock;
+
+    // Condition to wait on when deck is empty; null in lock-free subclasses
+    private final Condition notEmpty;
 
-    // Lock for thread-safe access
-    private final ReentrantLock lock = new ReentrantLock();
+    // Threads waiting on notEmpty; changed under the lock, read by the game end without it
+    private volatile int waiters = 0;
 
-    // Condition to wait on when deck is empty
-    private final Condition notEmpty = lock.newCondition();
+    // Number of cards, published under the lock for waiters spinning without it; null in lock-free subclasses
+    private final AtomicInteger available;
+
+    // Most cards held at once; written by one thread at a time (see recordDepth)
+    private volatile int maxDepth = 0;
+
+    // How a player waits on this deck while it is empty
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    // Called after every card added (see setReadinessListener); null if unused
+    private Runnable readinessListener;
 
     /**
      * Creates a deck with the given ID.
@@ -31,7 +58,50 @@ public class Deck {
      * @param deckId unique identifier of this deck
      */
     public Deck(int deckId) {
+        this(deckId, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a deck with the given ID, preallocated to hold at least
+     * the given number of cards before its storage has to grow.
+     *
+     * @param deckId   unique identifier of this deck
+     * @param capacity expected number of cards held at once
+     */
+    public Deck(int deckId, int capacity) {
+        this(deckId, capacity, CardGame.currentSession());
+    }
+
+    /**
+     * Creates a deck with the given ID and initial capacity belonging to the given game.
+     *
+     * @param deckId   unique identifier of this deck
+     * @param capacity expected number of cards held at once
+     * @param session  game whose end stops waiting on this deck
+     */
+    public Deck(int deckId, int capacity, GameSession session) {
+        this.deckId = deckId;
+        this.session = session;
+        this.cards = new IntRing(capacity);
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.available = new AtomicInteger();
+    }
+
+    /**
+     * Creates a deck for a subclass that keeps its own storage and needs no
+     * lock. The subclass must override every method that uses them.
+     *
+     * @param deckId  unique identifier of this deck
+     * @param session game whose end stops waiting on this deck
+     */
+    protected Deck(int deckId, GameSession session) {
         this.deckId = deckId;
+        this.session = session;
+        this.cards = null;
+        this.lock = null;
+        this.notEmpty = null;
+        this.available = null;
     }
 
     /**
@@ -43,17 +113,84 @@ public class Deck {
         return deckId;
     }
 
+    /**
+     * Returns the game this deck belongs to.
+     *
+     * @return game session
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Sets how a player waits on this deck while it is empty.
+     * Must be set before play begins.
+     *
+     * @param waitStrategy blocking, spinning or hybrid waiting
+     */
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns how a player waits on this deck while it is empty.
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
     /**
      * Waits until there is a card in the deck or the game has ended.
+     * Depending on the wait strategy, spins or yields before blocking.
      *
      * @return true if the deck is non-empty, false if game ended
      * @throws InterruptedException if thread is interrupted while waiting
      */
     public boolean awaitCardOrGameEnd() throws InterruptedException {
+
+        // Recorded only while a JFR recording has the event enabled, and only if the deck is empty
+        DeckWaitEvent event = new DeckWaitEvent();
+        boolean recorded = event.isEnabled() && !mayHaveCard();
+        if (recorded) {
+            event.begin();
+        }
+
+        boolean hasCard = waitForCardOrGameEnd();
+
+        if (recorded) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.deckId = deckId;
+                event.gameEnded = !hasCard;
+                event.commit();
+            }
+        }
+        return hasCard;
+    }
+
+    /**
+     * Does the waiting for {@link #awaitCardOrGameEnd()}.
+     *
+     * @return true if the deck is non-empty, false if game ended
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    protected boolean waitForCardOrGameEnd() throws InterruptedException {
+        waitStrategy.spin(this);
+
         lock.lock();
         try {
-            while (cards.isEmpty() && !CardGame.isGameWon()) {
-                notEmpty.await();
+            if (cards.isEmpty() && !session.isGameWon()) {
+                // Published before re-checking the outcome, so the game end cannot miss this waiter
+                waiters++;
+                try {
+                    while (cards.isEmpty() && !session.isGameWon()) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    waiters--;
+                }
             }
             return !cards.isEmpty();
         } finally {
@@ -67,10 +204,101 @@ public class Deck {
      * @param card Card to add
      */
     public void addCard(Card card) {
+        addValue(card.getValue());
+    }
+
+    /**
+     * Adds a card value to the bottom of the deck and wakes the waiting player, if any.
+     *
+     * @param value non-negative card value to add
+     */
+    public void addValue(int value) {
         lock.lock();
         try {
-            cards.addLast(card);
-            notEmpty.signalAll();
+            cards.addLast(value);
+            int size = cards.size();
+            available.setRelease(size);
+            recordDepth(size);
+
+            // Only the drawing player ever waits, and one card can only satisfy one waiter
+            if (waiters != 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyReady();
+    }
+
+    /**
+     * Registers a callback run after every card added to this deck, outside
+     * the deck lock. Used by engines that schedule a player only when its
+     * deck has cards. Must be set before play begins.
+     *
+     * @param listener callback, or null to remove
+     */
+    public void setReadinessListener(Runnable listener) {
+        this.readinessListener = listener;
+    }
+
+    /**
+     * Runs the readiness listener, if any. Subclasses call this after a card
+     * has become visible to the drawing player.
+     */
+    protected void notifyReady() {
+        Runnable listener = readinessListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Returns true if the deck held a card when last changed, without locking.
+     * May be stale; used only to end a spin before taking the lock.
+     */
+    boolean mayHaveCard() {
+        return available.getAcquire() > 0;
+    }
+
+    /**
+     * Returns the number of cards in the deck, read without locking.
+     *
+     * @return current depth
+     */
+    public int size() {
+        return available.getAcquire();
+    }
+
+    /**
+     * Raises the maximum depth to the given depth if it is deeper. Only one
+     * thread may record at a time: the lock holder, or a lock-free deck's producer.
+     *
+     * @param depth cards held after a card was added
+     */
+    protected final void recordDepth(int depth) {
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Returns the most cards the deck has held at once.
+     *
+     * @return maximum depth so far
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns true if the deck currently holds no cards.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return cards.isEmpty();
         } finally {
             lock.unlock();
         }
@@ -83,9 +311,21 @@ public class Deck {
      * @return the first Card, or null if deck is empty
      */
     public Card pollFirst() {
+        int value = pollFirstValue();
+        return value == EMPTY ? null : Card.valueOf(value);
+    }
+
+    /**
+     * Removes and returns the value of the first card in the deck.
+     *
+     * @return the first card value, or {@link #EMPTY} if deck is empty
+     */
+    public int pollFirstValue() {
         lock.lock();
         try {
-            return cards.pollFirst();
+            int value = cards.pollFirst();
+            available.setRelease(cards.size());
+            return value;
         } finally {
             lock.unlock();
         }
@@ -97,14 +337,53 @@ public class Deck {
      * @return list of cards currently in the deck
      */
     public List<Card> getContents() {
+        int[] values = getValues();
+        List<Card> contents = new ArrayList<>(values.length);
+        for (int v : values) {
+            contents.add(Card.valueOf(v));
+        }
+        return contents;
+    }
+
+    /**
+     * Returns a snapshot of the current deck contents as card values.
+     *
+     * @return array of card values currently in the deck, top first
+     */
+    public int[] getValues() {
+        lock.lock();
+        try {
+            return cards.toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ensures the deck can hold at least the given number of cards
+     * without reallocating its storage.
+     *
+     * @param capacity expected number of cards held at once
+     */
+    public void ensureCapacity(int capacity) {
         lock.lock();
         try {
-            return new ArrayList<>(cards);
+            cards.ensureCapacity(capacity);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Returns true if draws and discards on this deck are safe without
+     * holding its lock (see {@link SpscDeck}).
+     *
+     * @return false for the standard locking deck
+     */
+    public boolean isLockFree() {
+        return false;
+    }
+
     /**
      * Locks the deck for atomic operations (e.g., draw + discard).
      */
@@ -130,4 +409,12 @@ public class Deck {
             lock.unlock();
         }
     }
+
+    /**
+     * Returns true if a player may be blocked waiting for this deck.
+     * Read without locking when the game ends.
+     */
+    boolean hasWaiter() {
+        return waiters != 0;
+    }
 }
@@ -0,0 +1,36 @@
+package cardgame;
+
+/**
+ * Deck implementation used for a game.
+ */
+public enum DeckMode {
+
+    /** Lock-based deck; a turn holds both neighbouring deck locks. */
+    LOCKING,
+
+    /** Lock-free single-producer/single-consumer deck; a turn takes no locks. */
+    SPSC;
+
+    /**
+     * Creates a deck of this kind belonging to the current game session.
+     *
+     * @param deckId   unique identifier of the deck
+     * @param capacity expected number of cards held at once
+     * @return new deck
+     */
+    public Deck create(int deckId, int capacity) {
+        return create(deckId, capacity, CardGame.currentSession());
+    }
+
+    /**
+     * Creates a deck of this kind belonging to the given game session.
+     *
+     * @param deckId   unique identifier of the deck
+     * @param capacity expected number of cards held at once
+     * @param session  game the deck belongs to
+     * @return new deck
+     */
+    public Deck create(int deckId, int capacity, GameSession session) {
+        return this == SPSC ? new SpscDeck(deckId, capacity, session) : new Deck(deckId, capacity, session);
+    }
+}
@@ -0,0 +1,192 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * Writes the final contents of each deck to {@code deckN_output.txt}.
+ * <p>
+ * Each line is formatted straight into a reusable byte buffer, without
+ * building strings, and written through a {@link FileChannel}. Games with
+ * many decks split them among several threads, each with its own buffer.
+ * The files are byte-identical to printing
+ * {@code "deckN contents:"} and {@code " " + value} per card with a
+ * {@link java.io.PrintWriter} and ending the line with {@code println()}.
+ * <p>
+ * With {@link LogMode#SEGMENTED} logs the same bytes are appended to the
+ * game's {@link SegmentLogSink} instead of separate files.
+ */
+final class DeckOutputWriter {
+
+    /** Decks per thread below which starting another thread is not worth it. */
+    static final int DECKS_PER_THREAD = 64;
+
+    // Flushed to the file whenever fewer bytes than one more card remain
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    // Longest formatted card: " -2147483648"
+    private static final int MAX_CARD_BYTES = 12;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final Path outputDir;           // Directory of the deck files, or null when writing to segments
+    private final SegmentLogSink segments;  // Segments receiving the deck files, or null when writing files
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final byte[] digits = new byte[10];
+
+    DeckOutputWriter(Path outputDir) {
+        this.outputDir = outputDir;
+        this.segments = null;
+    }
+
+    DeckOutputWriter(SegmentLogSink segments) {
+        this.outputDir = null;
+        this.segments = segments;
+    }
+
+    /** Returns the output file name for the given deck. */
+    static String fileName(int deckId) {
+        return "deck" + deckId + "_output.txt";
+    }
+
+    /**
+     * Writes the output file of every deck, using up to one thread per core.
+     * A deck that cannot be written is reported and the rest are still written.
+     */
+    static void writeAll(Deck[] decks, Path outputDir) {
+        writeAll(decks, outputDir, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Writes the output file of every deck on at most the given number of
+     * threads, each taking a contiguous range of decks.
+     */
+    static void writeAll(Deck[] decks, Path outputDir, int maxThreads) {
+        writeAll(decks, () -> new DeckOutputWriter(outputDir), maxThreads);
+    }
+
+    /**
+     * Appends the output of every deck to the given segments, using up to one thread per core.
+     */
+    static void writeAll(Deck[] decks, SegmentLogSink segments) {
+        writeAll(decks, () -> new DeckOutputWriter(segments), Runtime.getRuntime().availableProcessors());
+    }
+
+    private static void writeAll(Deck[] decks, Supplier<DeckOutputWriter> writers, int maxThreads) {
+        int threads = Math.max(1, Math.min(maxThreads, decks.length / DECKS_PER_THREAD));
+        if (threads == 1) {
+            writers.get().write(decks, 0, decks.length);
+            return;
+        }
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) decks.length * t / threads);
+            int to = (int) ((long) decks.length * (t + 1) / threads);
+            DeckOutputWriter writer = writers.get();
+            workers[t] = new Thread(() -> writer.write(decks, from, to), "deck-writer-" + t);
+            workers[t].start();
+        }
+
+        for (Thread t : workers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                System.err.println("Thread interrupted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the output files of {@code decks[from]} up to but excluding {@code decks[to]}.
+     */
+    void write(Deck[] decks, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Deck d = decks[i];
+            try {
+                write(d);
+            } catch (IOException e) {
+                System.err.println("Error writing deck output for deck " + d.getDeckId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the output file of one deck, replacing any existing file.
+     */
+    void write(Deck deck) throws IOException {
+        if (segments != null) {
+            format(deck, null);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(outputDir.resolve(fileName(deck.getDeckId())),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            format(deck, channel);
+        }
+    }
+
+    /** Formats the deck's line, flushing the buffer to the channel (or the segments if null) as it fills. */
+    private void format(Deck deck, FileChannel channel) throws IOException {
+        int[] values = deck.getValues();
+        int deckId = deck.getDeckId();
+
+        buffer.clear();
+        putAscii("deck");
+        putInt(deckId);
+        putAscii(" contents:");
+
+        for (int v : values) {
+            if (buffer.remaining() < MAX_CARD_BYTES) {
+                flush(deckId, channel);
+            }
+            buffer.put((byte) ' ');
+            putInt(v);
+        }
+
+        if (buffer.remaining() < LINE_SEPARATOR.length) {
+            flush(deckId, channel);
+        }
+        buffer.put(LINE_SEPARATOR);
+        flush(deckId, channel);
+    }
+
+    private void flush(int deckId, FileChannel channel) throws IOException {
+        buffer.flip();
+        if (channel == null) {
+            segments.append(deckId, fileName(deckId), buffer);
+        } else {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    private void putAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    /** Puts the decimal digits of a value, as {@link Integer#toString(int)} would. */
+    private void putInt(int value) {
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) {
+            buffer.put(digits[--n]);
+        }
+    }
+}
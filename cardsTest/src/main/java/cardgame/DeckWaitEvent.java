@@ -0,0 +1,26 @@
+package cardgame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a player waiting on an empty deck.
+ */
+@Name("cardgame.DeckWait")
+@Label("Deck Empty Wait")
+@Category("Card Game")
+@Description("A player waits for a card to arrive in its empty left deck")
+@StackTrace(false)
+final class DeckWaitEvent extends Event {
+
+    @Label("Deck")
+    int deckId;
+
+    @Label("Game Ended")
+    @Description("True if the wait ended because the game ended rather than a card arriving")
+    boolean gameEnded;
+}
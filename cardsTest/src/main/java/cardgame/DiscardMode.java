@@ -0,0 +1,79 @@
+package cardgame;
+
+/**
+ * Built-in discard strategies. Any four of a kind wins, but only
+ * {@link #FIRST_NON_PREFERRED} is guaranteed never to give up the
+ * player's own value.
+ */
+public enum DiscardMode implements DiscardStrategy {
+
+    /** Discards the oldest card not of the preferred value, or the oldest card if all are. */
+    FIRST_NON_PREFERRED {
+        @Override
+        public int discard(Hand hand, int preferredValue) {
+            return hand.discard();
+        }
+    },
+
+    /**
+     * Keeps the preferred value and the values held most often: discards
+     * the oldest card of the least frequent other value.
+     */
+    MOST_FREQUENT {
+        @Override
+        public int discard(Hand hand, int preferredValue) {
+            int slot = 0;
+            int fewest = Integer.MAX_VALUE;
+            for (int i = 0; i < hand.size(); i++) {
+                int v = hand.get(i);
+                if (v == preferredValue) {
+                    continue;
+                }
+                int n = count(hand, v);
+                if (n < fewest) {
+                    fewest = n;
+                    slot = i;
+                }
+            }
+            return hand.remove(slot);
+        }
+    },
+
+    /**
+     * Collects whichever value the hand holds most of, the preferred value
+     * on a tie: discards the oldest card of any other value, even the
+     * player's own.
+     */
+    MAJORITY {
+        @Override
+        public int discard(Hand hand, int preferredValue) {
+            int target = preferredValue;
+            int most = count(hand, preferredValue);
+            for (int i = 0; i < hand.size(); i++) {
+                int v = hand.get(i);
+                int n = count(hand, v);
+                if (n > most) {
+                    most = n;
+                    target = v;
+                }
+            }
+            for (int i = 0; i < hand.size(); i++) {
+                if (hand.get(i) != target) {
+                    return hand.remove(i);
+                }
+            }
+            return hand.remove(0);
+        }
+    };
+
+    /** Returns how many cards of the given value the hand holds. */
+    private static int count(Hand hand, int value) {
+        int n = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i) == value) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,22 @@
+package cardgame;
+
+/**
+ * Chooses the card a player discards after drawing. The built-in
+ * strategies are the constants of {@link DiscardMode}.
+ * <p>
+ * A strategy is called on the player's own thread with a hand of five
+ * cards and must leave four, so it needs no synchronisation; one instance
+ * may be shared by every player.
+ */
+public interface DiscardStrategy {
+
+    /**
+     * Removes the card to discard from a hand, using {@link Hand#discard()}
+     * or {@link Hand#remove(int)}.
+     *
+     * @param hand           hand holding the card just drawn
+     * @param preferredValue card value the player collects (its player ID)
+     * @return value of the card removed
+     */
+    int discard(Hand hand, int preferredValue);
+}
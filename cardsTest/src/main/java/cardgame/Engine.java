@@ -0,0 +1,16 @@
+package cardgame;
+
+/**
+ * How player turns are executed.
+ */
+public enum Engine {
+
+    /** Each player runs its own loop on a dedicated thread (see {@link ExecutionMode}). */
+    THREADS,
+
+    /** Players are tasks scheduled on one worker per core when their deck has cards. */
+    COOPERATIVE,
+
+    /** Players take turns one at a time on the calling thread, in a reproducible order (see {@link SimulationEngine}). */
+    SIMULATED
+}
@@ -0,0 +1,174 @@
+package cardgame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Command-line tool that turns binary player event logs written by
+ * {@link BinaryLogSink} back into the standard text output files.
+ * <p>
+ * Usage: {@code java -cp cards.jar cardgame.EventLogDecoder player1_output.bin ...}
+ * <br>
+ * Each {@code playerN_output.bin} is decoded to {@code playerN_output.txt}
+ * in the same directory, byte-identical to the file a text-mode game
+ * would have written.
+ */
+public class EventLogDecoder {
+
+    /** Decodes every file named on the command line. */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: EventLogDecoder <playerN_output.bin>...");
+            System.exit(2);
+        }
+        int failures = 0;
+        for (String arg : args) {
+            Path in = Path.of(arg);
+            try {
+                Path out = decodeFile(in);
+                System.out.println(in + " -> " + out);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error decoding " + in + ": " + e.getMessage());
+                failures++;
+            }
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Decodes one binary log to the matching text file next to it.
+     *
+     * @param in path of a binary player log
+     * @return path of the text file written
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if the file is not a valid event log
+     */
+    public static Path decodeFile(Path in) throws IOException {
+        int playerId;
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(Files.newInputStream(in)))) {
+            data.readLong();
+            playerId = data.readInt();
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Empty event log.");
+        }
+
+        Path parent = in.toAbsolutePath().getParent();
+        Path out = parent.resolve(PlayerLogFormat.fileName(playerId));
+        try (InputStream is = Files.newInputStream(in);
+             Writer w = new FileWriter(out.toFile(), false)) {
+            decode(is, w);
+        }
+        return out;
+    }
+
+    /**
+     * Decodes a stream of event records for one player into text lines.
+     *
+     * @param in  binary event records
+     * @param out destination for the text lines
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if the stream is not a valid event log
+     */
+    public static void decode(InputStream in, Writer out) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        PrintWriter pw = new PrintWriter(out);
+        StringBuilder sb = new StringBuilder(64);
+
+        int[] hand = new int[5];
+        int handSize = 0;
+        int dealsPending = 0;
+        int drawnDeck = 0;
+        int drawnValue = 0;
+        long expectedSequence = 0;
+
+        while (true) {
+            long sequence;
+            try {
+                sequence = data.readLong();
+            } catch (EOFException e) {
+                break;
+            }
+            int playerId = data.readInt();
+            int deckId = data.readInt();
+            int value = data.readInt();
+            short type = data.readShort();
+            short slot = data.readShort();
+
+            // A new game appended to the same file restarts its sequence at 0
+            if (sequence != expectedSequence && sequence != 0) {
+                throw new IllegalArgumentException("Out-of-order record " + sequence
+                        + ", expected " + expectedSequence);
+            }
+            expectedSequence = sequence + 1;
+
+            switch (type) {
+                case BinaryLogSink.INITIAL:
+                    handSize = 0;
+                    dealsPending = value;
+                    if (dealsPending == 0) {
+                        println(pw, PlayerLogFormat.initialHand(sb, playerId, hand, 0, 0));
+                    }
+                    break;
+                case BinaryLogSink.DEAL:
+                    if (hand.length <= slot) {
+                        hand = Arrays.copyOf(hand, slot + 1);
+                    }
+                    hand[slot] = value;
+                    handSize = Math.max(handSize, slot + 1);
+                    if (--dealsPending == 0) {
+                        println(pw, PlayerLogFormat.initialHand(sb, playerId, hand, 0, handSize));
+                    }
+                    break;
+                case BinaryLogSink.DRAW:
+                    if (hand.length == handSize) {
+                        hand = Arrays.copyOf(hand, handSize * 2 + 1);
+                    }
+                    hand[handSize++] = value;
+                    drawnDeck = deckId;
+                    drawnValue = value;
+                    break;
+                case BinaryLogSink.DISCARD:
+                    System.arraycopy(hand, slot + 1, hand, slot, handSize - slot - 1);
+                    handSize--;
+                    println(pw, PlayerLogFormat.draws(sb, playerId, drawnValue, drawnDeck));
+                    println(pw, PlayerLogFormat.discards(sb, playerId, value, deckId));
+                    println(pw, PlayerLogFormat.currentHand(sb, playerId, hand, 0, handSize));
+                    break;
+                case BinaryLogSink.WIN:
+                    println(pw, PlayerLogFormat.wins(sb, playerId));
+                    break;
+                case BinaryLogSink.INFORMED:
+                    println(pw, PlayerLogFormat.informed(sb, playerId, value));
+                    break;
+                case BinaryLogSink.EXIT:
+                    println(pw, PlayerLogFormat.exits(sb, playerId));
+                    break;
+                case BinaryLogSink.FINAL_HAND:
+                    println(pw, PlayerLogFormat.finalHand(sb, playerId, value == 1, hand, 0, handSize));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown event type " + type + " in record " + sequence);
+            }
+        }
+        pw.flush();
+        if (pw.checkError()) {
+            throw new IOException("Error writing decoded output.");
+        }
+    }
+
+    private static void println(PrintWriter pw, StringBuilder line) {
+        pw.println(line);
+        line.setLength(0);
+    }
+}
@@ -0,0 +1,66 @@
+package cardgame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Kind of thread each player runs on.
+ */
+public enum ExecutionMode {
+
+    /** One platform (OS) thread per player. */
+    PLATFORM,
+
+    /**
+     * One virtual thread per player. Requires Java 21 or later; the API is
+     * bound reflectively so the game still builds and runs on Java 17.
+     */
+    VIRTUAL;
+
+    // Thread.ofVirtual() and Thread.Builder.unstarted(Runnable), or null before Java 21
+    private static final Method OF_VIRTUAL;
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            // Virtual threads not available on this runtime
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    /**
+     * Returns true if this mode can be used on the running JVM.
+     *
+     * @return false for VIRTUAL before Java 21
+     */
+    public boolean isSupported() {
+        return this == PLATFORM || OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an unstarted thread of this kind.
+     *
+     * @param task code to run
+     * @return new, unstarted thread
+     * @throws IllegalStateException if this mode is not supported on the running JVM
+     */
+    public Thread newThread(Runnable task) {
+        if (this == PLATFORM) {
+            return new Thread(task);
+        }
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later.");
+        }
+        try {
+            return (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), task);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create virtual thread: " + e, e);
+        }
+    }
+}
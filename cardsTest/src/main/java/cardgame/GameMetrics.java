@@ -0,0 +1,180 @@
+package cardgame;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects and publishes the metrics of one game through JMX.
+ * Turns are counted by each player and timed in its own
+ * {@link PlayerMetrics}; deck depths are read from the decks. Nothing here is written by the game,
+ * so reading metrics never slows play down.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    // Numbers the MBeans of games in this JVM
+    private static final AtomicInteger GAMES = new AtomicInteger();
+
+    private final GameSession session;
+    private final Deck[] decks;
+    private final Player[] players;
+    private final PlayerMetrics[] timings;
+    private final long startNanos = System.nanoTime();
+    private ObjectName name;
+
+    private GameMetrics(GameSession session, Player[] players, Deck[] decks) {
+        this.session = session;
+        this.decks = decks;
+        this.players = players;
+        this.timings = new PlayerMetrics[players.length];
+        for (int i = 0; i < players.length; i++) {
+            timings[i] = new PlayerMetrics();
+            players[i].setMetrics(timings[i]);
+        }
+    }
+
+    /**
+     * Attaches timings to every player and registers the game's MBean.
+     * If registration fails the game is still counted and a message is printed.
+     *
+     * @param session game being played
+     * @param players players of the game, before play begins
+     * @param decks   decks of the game
+     * @return the metrics; call {@link #unregister()} when the game is over
+     */
+    public static GameMetrics register(GameSession session, Player[] players, Deck[] decks) {
+        GameMetrics metrics = new GameMetrics(session, players, decks);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("cardgame:type=Game,id=" + GAMES.incrementAndGet());
+            server.registerMBean(metrics, name);
+            metrics.name = name;
+        } catch (JMException e) {
+            System.err.println("Error registering game metrics: " + e.getMessage());
+        }
+        return metrics;
+    }
+
+    /** Removes the game's MBean, if it was registered. */
+    public void unregister() {
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            System.err.println("Error unregistering game metrics: " + e.getMessage());
+        }
+        name = null;
+    }
+
+    /** Returns the name the MBean is registered under, or null. */
+    public ObjectName getObjectName() {
+        return name;
+    }
+
+    @Override
+    public int getPlayers() {
+        return players.length;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return session.isGameWon();
+    }
+
+    @Override
+    public int getWinnerId() {
+        return session.getWinnerId();
+    }
+
+    @Override
+    public long[] getTurnsPerPlayer() {
+        long[] turns = new long[players.length];
+        for (int i = 0; i < players.length; i++) {
+            turns[i] = players[i].getTurns();
+        }
+        return turns;
+    }
+
+    @Override
+    public long getTotalTurns() {
+        return sum(getTurnsPerPlayer());
+    }
+
+    @Override
+    public double getTurnsPerSecond() {
+        long end = session.getEndNanos();
+        if (end == -1) {
+            end = System.nanoTime();
+        }
+        long elapsed = Math.max(1, end - startNanos);
+        return getTotalTurns() * 1e9 / elapsed;
+    }
+
+    @Override
+    public int[] getDeckDepths() {
+        int[] depths = new int[decks.length];
+        for (int i = 0; i < decks.length; i++) {
+            depths[i] = decks[i].size();
+        }
+        return depths;
+    }
+
+    @Override
+    public int[] getMaxDeckDepths() {
+        int[] depths = new int[decks.length];
+        for (int i = 0; i < decks.length; i++) {
+            depths[i] = decks[i].getMaxDepth();
+        }
+        return depths;
+    }
+
+    @Override
+    public long[] getLockWaitNanosPerPlayer() {
+        long[] nanos = new long[players.length];
+        for (int i = 0; i < players.length; i++) {
+            nanos[i] = timings[i].getLockWaitNanos();
+        }
+        return nanos;
+    }
+
+    @Override
+    public long getTotalLockWaitNanos() {
+        return sum(getLockWaitNanosPerPlayer());
+    }
+
+    @Override
+    public long[] getBlockedNanosPerPlayer() {
+        long[] nanos = new long[players.length];
+        for (int i = 0; i < players.length; i++) {
+            nanos[i] = timings[i].getBlockedNanos();
+        }
+        return nanos;
+    }
+
+    @Override
+    public long getTotalBlockedNanos() {
+        return sum(getBlockedNanosPerPlayer());
+    }
+
+    @Override
+    public long getTimeToWinMillis() {
+        long end = session.getEndNanos();
+        if (end == -1) {
+            return -1;
+        }
+        return Math.max(0, end - startNanos) / 1_000_000;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) {
+            total += v;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package cardgame;
+
+/**
+ * Live metrics of one game, registered with the platform MBean server as
+ * {@code cardgame:type=Game,id=N} while the game is played.
+ * Per-player and per-deck arrays are indexed by ID - 1.
+ */
+public interface GameMetricsMXBean {
+
+    /** Returns the number of players. */
+    int getPlayers();
+
+    /** Returns true once the game has ended. */
+    boolean isFinished();
+
+    /** Returns the winning player's ID, or -1 if there is none (yet). */
+    int getWinnerId();
+
+    /** Returns the turns completed by each player. */
+    long[] getTurnsPerPlayer();
+
+    /** Returns the turns completed by all players. */
+    long getTotalTurns();
+
+    /** Returns the average turns per second since the game started, up to its end. */
+    double getTurnsPerSecond();
+
+    /** Returns the number of cards in each deck now. */
+    int[] getDeckDepths();
+
+    /** Returns the most cards each deck has held at once. */
+    int[] getMaxDeckDepths();
+
+    /** Returns the time each player has spent acquiring deck locks for a turn, in nanoseconds. */
+    long[] getLockWaitNanosPerPlayer();
+
+    /** Returns the time all players have spent acquiring deck locks for a turn, in nanoseconds. */
+    long getTotalLockWaitNanos();
+
+    /** Returns the time each player has spent waiting for a card, in nanoseconds. */
+    long[] getBlockedNanosPerPlayer();
+
+    /** Returns the time all players have spent waiting for a card, in nanoseconds. */
+    long getTotalBlockedNanos();
+
+    /** Returns the time from the start of play to the win, in milliseconds, or -1 while running. */
+    long getTimeToWinMillis();
+}
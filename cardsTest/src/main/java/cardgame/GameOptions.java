@@ -0,0 +1,559 @@
+package cardgame;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Launch-time options for a game.
+ * Read from system properties, e.g. {@code -Dcardgame.deck=spsc}.
+ */
+public class GameOptions {
+
+    /** System property selecting the deck implementation. */
+    public static final String DECK_PROPERTY = "cardgame.deck";
+
+    /** System property selecting how player turns are executed. */
+    public static final String ENGINE_PROPERTY = "cardgame.engine";
+
+    /** System property setting the worker count of the cooperative engine. */
+    public static final String WORKERS_PROPERTY = "cardgame.workers";
+
+    /** System property seeding the turn order of the simulated engine (round-robin if unset). */
+    public static final String SEED_PROPERTY = "cardgame.seed";
+
+    /** System property enabling the per-game metrics MBean ({@code true} or {@code false}). */
+    public static final String METRICS_PROPERTY = "cardgame.metrics";
+
+    /** System property selecting how players wait on an empty deck. */
+    public static final String WAIT_PROPERTY = "cardgame.wait";
+
+    /** System property selecting the hand implementation. */
+    public static final String HAND_PROPERTY = "cardgame.hand";
+
+    /** System property selecting how players choose the card to discard. */
+    public static final String DISCARD_PROPERTY = "cardgame.discard";
+
+    /** System property enabling the pre-game check that a pack can produce a winner ({@code true} or {@code false}). */
+    public static final String PACK_ANALYZE_PROPERTY = "cardgame.pack.analyze";
+
+    /** System property making the headless mode deal the pack while reading it ({@code true} or {@code false}). */
+    public static final String PACK_STREAM_PROPERTY = "cardgame.pack.stream";
+
+    /** System property selecting the kind of thread each player runs on. */
+    public static final String EXECUTION_PROPERTY = "cardgame.threads";
+
+    /** System property setting the directory output files are written to. */
+    public static final String OUTPUT_DIR_PROPERTY = "cardgame.outputDir";
+
+    /** System property selecting how player logs are written. */
+    public static final String LOG_PROPERTY = "cardgame.log";
+
+    /** System property setting the records per async log batch. */
+    public static final String LOG_BATCH_PROPERTY = "cardgame.log.batch";
+
+    /** System property setting the maximum age of an async log batch in milliseconds. */
+    public static final String LOG_FLUSH_MILLIS_PROPERTY = "cardgame.log.flushMillis";
+
+    /** System property setting how many async log batches may wait for the writer. */
+    public static final String LOG_QUEUE_PROPERTY = "cardgame.log.queue";
+
+    /** System property setting the number of segment files of segmented logs. */
+    public static final String LOG_SEGMENTS_PROPERTY = "cardgame.log.segments";
+
+    /** System property setting how long no player may complete a turn before the game is ended, 0 for no limit. */
+    public static final String WATCHDOG_STALL_MILLIS_PROPERTY = "cardgame.watchdog.stallMillis";
+
+    /** System property setting the turns of all players after which the game is ended, 0 for no limit. */
+    public static final String WATCHDOG_MAX_TURNS_PROPERTY = "cardgame.watchdog.maxTurns";
+
+    /** System property setting how long a game may be played before it is ended, 0 for no limit. */
+    public static final String WATCHDOG_MAX_MILLIS_PROPERTY = "cardgame.watchdog.maxMillis";
+
+    /** System property setting how often the watchdog samples progress, in milliseconds. */
+    public static final String WATCHDOG_SAMPLE_MILLIS_PROPERTY = "cardgame.watchdog.sampleMillis";
+
+    private DeckMode deckMode = DeckMode.LOCKING;
+    private HandMode handMode = HandMode.SLOT;
+    private DiscardStrategy discardStrategy = DiscardMode.FIRST_NON_PREFERRED;
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    private boolean metrics = false;
+    private boolean announceWin = true;
+    private boolean streamPack = false;
+    private boolean analyzePack = true;
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private Engine engine = Engine.THREADS;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private ExecutorService workerPool;
+    private Long seed;
+    private Path outputDir = Path.of("");
+    private LogMode logMode = LogMode.TEXT;
+    private int logBatchRecords = 256;
+    private long logFlushMillis = 0;
+    private int logQueueCapacity = 1024;
+    private int logSegments = 8;
+    private long watchdogStallMillis = 0;
+    private long watchdogMaxTurns = 0;
+    private long watchdogMaxMillis = 0;
+    private int watchdogSampleMillis = 100;
+
+    /**
+     * Creates options populated from system properties, falling back to
+     * defaults for any property that is not set.
+     *
+     * @return options for this launch
+     * @throws IllegalArgumentException if a property has an unknown value
+     */
+    public static GameOptions fromSystemProperties() {
+        GameOptions options = new GameOptions();
+        String deck = System.getProperty(DECK_PROPERTY);
+        if (deck != null) {
+            options.setDeckMode(parseEnum(DeckMode.class, deck, DECK_PROPERTY));
+        }
+        String metrics = System.getProperty(METRICS_PROPERTY);
+        if (metrics != null) {
+            options.setMetrics(parseBoolean(metrics, METRICS_PROPERTY));
+        }
+        String analyzePack = System.getProperty(PACK_ANALYZE_PROPERTY);
+        if (analyzePack != null) {
+            options.setAnalyzePack(parseBoolean(analyzePack, PACK_ANALYZE_PROPERTY));
+        }
+        String streamPack = System.getProperty(PACK_STREAM_PROPERTY);
+        if (streamPack != null) {
+            options.setStreamPack(parseBoolean(streamPack, PACK_STREAM_PROPERTY));
+        }
+        String wait = System.getProperty(WAIT_PROPERTY);
+        if (wait != null) {
+            options.setWaitStrategy(parseEnum(WaitStrategy.class, wait, WAIT_PROPERTY));
+        }
+        String hand = System.getProperty(HAND_PROPERTY);
+        if (hand != null) {
+            options.setHandMode(parseEnum(HandMode.class, hand, HAND_PROPERTY));
+        }
+        String discard = System.getProperty(DISCARD_PROPERTY);
+        if (discard != null) {
+            options.setDiscardStrategy(parseEnum(DiscardMode.class, discard, DISCARD_PROPERTY));
+        }
+        String engine = System.getProperty(ENGINE_PROPERTY);
+        if (engine != null) {
+            options.setEngine(parseEnum(Engine.class, engine, ENGINE_PROPERTY));
+        }
+        String workers = System.getProperty(WORKERS_PROPERTY);
+        if (workers != null) {
+            options.setWorkers(parsePositive(workers, WORKERS_PROPERTY));
+        }
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed != null) {
+            options.setSeed(parseLong(seed, SEED_PROPERTY));
+        }
+        String threads = System.getProperty(EXECUTION_PROPERTY);
+        if (threads != null) {
+            options.setExecutionMode(parseEnum(ExecutionMode.class, threads, EXECUTION_PROPERTY));
+        }
+        String outputDir = System.getProperty(OUTPUT_DIR_PROPERTY);
+        if (outputDir != null) {
+            options.setOutputDir(Path.of(outputDir.trim()));
+        }
+        String log = System.getProperty(LOG_PROPERTY);
+        if (log != null) {
+            options.setLogMode(parseEnum(LogMode.class, log, LOG_PROPERTY));
+        }
+        String batch = System.getProperty(LOG_BATCH_PROPERTY);
+        if (batch != null) {
+            options.setLogBatchRecords(parsePositive(batch, LOG_BATCH_PROPERTY));
+        }
+        String flush = System.getProperty(LOG_FLUSH_MILLIS_PROPERTY);
+        if (flush != null) {
+            options.setLogFlushMillis(parseNonNegative(flush, LOG_FLUSH_MILLIS_PROPERTY));
+        }
+        String queue = System.getProperty(LOG_QUEUE_PROPERTY);
+        if (queue != null) {
+            options.setLogQueueCapacity(parsePositive(queue, LOG_QUEUE_PROPERTY));
+        }
+        String segments = System.getProperty(LOG_SEGMENTS_PROPERTY);
+        if (segments != null) {
+            options.setLogSegments(parsePositive(segments, LOG_SEGMENTS_PROPERTY));
+        }
+        String stall = System.getProperty(WATCHDOG_STALL_MILLIS_PROPERTY);
+        if (stall != null) {
+            options.setWatchdogStallMillis(parseNonNegative(stall, WATCHDOG_STALL_MILLIS_PROPERTY));
+        }
+        String maxTurns = System.getProperty(WATCHDOG_MAX_TURNS_PROPERTY);
+        if (maxTurns != null) {
+            options.setWatchdogMaxTurns(parseNonNegative(maxTurns, WATCHDOG_MAX_TURNS_PROPERTY));
+        }
+        String maxMillis = System.getProperty(WATCHDOG_MAX_MILLIS_PROPERTY);
+        if (maxMillis != null) {
+            options.setWatchdogMaxMillis(parseNonNegative(maxMillis, WATCHDOG_MAX_MILLIS_PROPERTY));
+        }
+        String sample = System.getProperty(WATCHDOG_SAMPLE_MILLIS_PROPERTY);
+        if (sample != null) {
+            options.setWatchdogSampleMillis(parsePositive(sample, WATCHDOG_SAMPLE_MILLIS_PROPERTY));
+        }
+        return options;
+    }
+
+    /**
+     * Parses a strictly positive integer option.
+     */
+    static int parsePositive(String value, String option) {
+        long n = parseNonNegative(value, option);
+        if (n == 0 || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(option + " must be a positive integer: '" + value + "'");
+        }
+        return (int) n;
+    }
+
+    /**
+     * Parses a non-negative integer option.
+     */
+    static long parseNonNegative(String value, String option) {
+        try {
+            long n = Long.parseLong(value.trim());
+            if (n >= 0) {
+                return n;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(option + " must be a non-negative integer: '" + value + "'");
+    }
+
+    /**
+     * Parses a {@code true}/{@code false} option.
+     */
+    static boolean parseBoolean(String value, String option) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.equals("true") || v.equals("false")) {
+            return v.equals("true");
+        }
+        throw new IllegalArgumentException(option + " must be true or false: '" + value + "'");
+    }
+
+    /**
+     * Parses a signed long option.
+     */
+    static long parseLong(String value, String option) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " must be an integer: '" + value + "'");
+        }
+    }
+
+    /**
+     * Parses an enum constant by case-insensitive name.
+     */
+    static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String option) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value for " + option + ": '" + value + "'");
+        }
+    }
+
+    /** Returns the deck implementation to use. */
+    public DeckMode getDeckMode() {
+        return deckMode;
+    }
+
+    /** Sets the deck implementation to use. */
+    public GameOptions setDeckMode(DeckMode deckMode) {
+        this.deckMode = deckMode;
+        return this;
+    }
+
+    /** Returns true if each game registers a metrics MBean while it is played. */
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    /** Sets whether each game registers a metrics MBean while it is played. */
+    public GameOptions setMetrics(boolean metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /** Returns true if the winning player prints "player N wins" to standard output. */
+    public boolean isAnnounceWin() {
+        return announceWin;
+    }
+
+    /**
+     * Sets whether the winning player prints "player N wins" to standard
+     * output. Runs that print their own report turn it off so standard
+     * output holds only that report.
+     */
+    public GameOptions setAnnounceWin(boolean announceWin) {
+        this.announceWin = announceWin;
+        return this;
+    }
+
+    /**
+     * Returns true if a loaded pack is checked with {@link PackAnalyzer#check(int[], int)}
+     * before it is played. Streamed packs are never checked.
+     */
+    public boolean isAnalyzePack() {
+        return analyzePack;
+    }
+
+    /** Sets whether a loaded pack is checked for a possible winner before it is played. */
+    public GameOptions setAnalyzePack(boolean analyzePack) {
+        this.analyzePack = analyzePack;
+        return this;
+    }
+
+    /** Returns true if the headless mode deals the pack while reading it instead of loading it first. */
+    public boolean isStreamPack() {
+        return streamPack;
+    }
+
+    /** Sets whether the headless mode deals the pack while reading it instead of loading it first. */
+    public GameOptions setStreamPack(boolean streamPack) {
+        this.streamPack = streamPack;
+        return this;
+    }
+
+    /** Returns how players wait on an empty deck. */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /** Sets how players wait on an empty deck. */
+    public GameOptions setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    /** Returns the hand implementation each player uses. */
+    public HandMode getHandMode() {
+        return handMode;
+    }
+
+    /** Sets the hand implementation each player uses. */
+    public GameOptions setHandMode(HandMode handMode) {
+        this.handMode = handMode;
+        return this;
+    }
+
+    /** Returns how players choose the card to discard. */
+    public DiscardStrategy getDiscardStrategy() {
+        return discardStrategy;
+    }
+
+    /** Sets how players choose the card to discard; shared by every player of a game. */
+    public GameOptions setDiscardStrategy(DiscardStrategy discardStrategy) {
+        this.discardStrategy = discardStrategy;
+        return this;
+    }
+
+    /** Returns how player turns are executed. */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /** Sets how player turns are executed. */
+    public GameOptions setEngine(Engine engine) {
+        this.engine = engine;
+        return this;
+    }
+
+    /** Returns the number of worker threads used by the cooperative engine. */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /** Sets the number of worker threads used by the cooperative engine. */
+    public GameOptions setWorkers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Returns the pool the cooperative engine runs on, or null if each game
+     * creates its own pool of {@link #getWorkers()} threads.
+     */
+    public ExecutorService getWorkerPool() {
+        return workerPool;
+    }
+
+    /** Sets a pool shared by cooperative games; null to give each game its own pool. */
+    public GameOptions setWorkerPool(ExecutorService workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
+
+    /**
+     * Returns the seed of the simulated engine's random turn order, or null
+     * if players take turns round-robin.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /** Sets the seed of the simulated engine's turn order; null for round-robin. */
+    public GameOptions setSeed(Long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /** Returns the directory player and deck output files are written to. */
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    /** Sets the directory player and deck output files are written to. */
+    public GameOptions setOutputDir(Path outputDir) {
+        this.outputDir = outputDir;
+        return this;
+    }
+
+    /**
+     * Returns a copy of these options that can be changed independently.
+     */
+    public GameOptions copy() {
+        GameOptions copy = new GameOptions();
+        copy.deckMode = deckMode;
+        copy.handMode = handMode;
+        copy.discardStrategy = discardStrategy;
+        copy.waitStrategy = waitStrategy;
+        copy.metrics = metrics;
+        copy.announceWin = announceWin;
+        copy.streamPack = streamPack;
+        copy.analyzePack = analyzePack;
+        copy.executionMode = executionMode;
+        copy.engine = engine;
+        copy.workers = workers;
+        copy.workerPool = workerPool;
+        copy.seed = seed;
+        copy.outputDir = outputDir;
+        copy.logMode = logMode;
+        copy.logBatchRecords = logBatchRecords;
+        copy.logFlushMillis = logFlushMillis;
+        copy.logQueueCapacity = logQueueCapacity;
+        copy.logSegments = logSegments;
+        copy.watchdogStallMillis = watchdogStallMillis;
+        copy.watchdogMaxTurns = watchdogMaxTurns;
+        copy.watchdogMaxMillis = watchdogMaxMillis;
+        copy.watchdogSampleMillis = watchdogSampleMillis;
+        return copy;
+    }
+
+    /** Returns the kind of thread each player runs on. */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Sets the kind of thread each player runs on.
+     *
+     * @throws IllegalArgumentException if the mode is not supported by the running JVM
+     */
+    public GameOptions setExecutionMode(ExecutionMode executionMode) {
+        if (!executionMode.isSupported()) {
+            throw new IllegalArgumentException("Execution mode " + executionMode
+                    + " is not supported by this JVM (Java " + Runtime.version().feature() + ").");
+        }
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /** Returns how player logs are written. */
+    public LogMode getLogMode() {
+        return logMode;
+    }
+
+    /** Sets how player logs are written. */
+    public GameOptions setLogMode(LogMode logMode) {
+        this.logMode = logMode;
+        return this;
+    }
+
+    /** Returns the number of records per async log batch. */
+    public int getLogBatchRecords() {
+        return logBatchRecords;
+    }
+
+    /** Sets the number of records per async log batch. */
+    public GameOptions setLogBatchRecords(int logBatchRecords) {
+        this.logBatchRecords = logBatchRecords;
+        return this;
+    }
+
+    /** Returns the maximum age of a non-empty async log batch, 0 if unlimited. */
+    public long getLogFlushMillis() {
+        return logFlushMillis;
+    }
+
+    /** Sets the maximum age of a non-empty async log batch, 0 if unlimited. */
+    public GameOptions setLogFlushMillis(long logFlushMillis) {
+        this.logFlushMillis = logFlushMillis;
+        return this;
+    }
+
+    /** Returns how many async log batches may wait for the writer thread. */
+    public int getLogQueueCapacity() {
+        return logQueueCapacity;
+    }
+
+    /** Sets how many async log batches may wait for the writer thread. */
+    public GameOptions setLogQueueCapacity(int logQueueCapacity) {
+        this.logQueueCapacity = logQueueCapacity;
+        return this;
+    }
+
+    /** Returns the number of segment files segmented logs are spread over. */
+    public int getLogSegments() {
+        return logSegments;
+    }
+
+    /** Sets the number of segment files segmented logs are spread over. */
+    public GameOptions setLogSegments(int logSegments) {
+        this.logSegments = logSegments;
+        return this;
+    }
+
+    /** Returns how long no player may complete a turn before the game is ended, 0 for no limit. */
+    public long getWatchdogStallMillis() {
+        return watchdogStallMillis;
+    }
+
+    /** Sets how long no player may complete a turn before the game is ended, 0 for no limit. */
+    public GameOptions setWatchdogStallMillis(long watchdogStallMillis) {
+        this.watchdogStallMillis = watchdogStallMillis;
+        return this;
+    }
+
+    /** Returns the turns of all players together after which the game is ended, 0 for no limit. */
+    public long getWatchdogMaxTurns() {
+        return watchdogMaxTurns;
+    }
+
+    /** Sets the turns of all players together after which the game is ended, 0 for no limit. */
+    public GameOptions setWatchdogMaxTurns(long watchdogMaxTurns) {
+        this.watchdogMaxTurns = watchdogMaxTurns;
+        return this;
+    }
+
+    /** Returns how long a game may be played before it is ended, 0 for no limit. */
+    public long getWatchdogMaxMillis() {
+        return watchdogMaxMillis;
+    }
+
+    /** Sets how long a game may be played before it is ended, 0 for no limit. */
+    public GameOptions setWatchdogMaxMillis(long watchdogMaxMillis) {
+        this.watchdogMaxMillis = watchdogMaxMillis;
+        return this;
+    }
+
+    /** Returns how often the watchdog samples the players' progress, in milliseconds. */
+    public int getWatchdogSampleMillis() {
+        return watchdogSampleMillis;
+    }
+
+    /** Sets how often the watchdog samples the players' progress, in milliseconds. */
+    public GameOptions setWatchdogSampleMillis(int watchdogSampleMillis) {
+        this.watchdogSampleMillis = watchdogSampleMillis;
+        return this;
+    }
+}
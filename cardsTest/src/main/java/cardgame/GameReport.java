@@ -0,0 +1,135 @@
+package cardgame;
+
+import java.util.Locale;
+
+/**
+ * Summary of one finished game: who won, how much play it took and how
+ * long each phase lasted. Printed by the headless mode of {@link CardGame}
+ * in one of the {@link ReportFormat}s.
+ */
+public final class GameReport {
+
+    /** Column names of {@link #toCsv()}, in order. */
+    public static final String CSV_HEADER = "players,engine,log,winner,totalTurns,peakDeckDepth,"
+            + "packLoadNanos,dealNanos,playNanos,outputNanos,totalNanos";
+
+    private final int numPlayers;
+    private final Engine engine;
+    private final LogMode logMode;
+    private final int winnerId;
+    private final long totalTurns;
+    private final int peakDeckDepth;
+    private final long packLoadNanos;
+    private final long dealNanos;
+    private final long playNanos;
+    private final long outputNanos;
+
+    GameReport(int numPlayers, Engine engine, LogMode logMode, int winnerId, long totalTurns, int peakDeckDepth,
+               long packLoadNanos, long dealNanos, long playNanos, long outputNanos) {
+        this.numPlayers = numPlayers;
+        this.engine = engine;
+        this.logMode = logMode;
+        this.winnerId = winnerId;
+        this.totalTurns = totalTurns;
+        this.peakDeckDepth = peakDeckDepth;
+        this.packLoadNanos = packLoadNanos;
+        this.dealNanos = dealNanos;
+        this.playNanos = playNanos;
+        this.outputNanos = outputNanos;
+    }
+
+    /**
+     * Returns a copy of this report with the time taken to read the pack,
+     * which happens before the game itself is set up.
+     */
+    GameReport withPackLoadNanos(long nanos) {
+        return new GameReport(numPlayers, engine, logMode, winnerId, totalTurns, peakDeckDepth,
+                nanos, dealNanos, playNanos, outputNanos);
+    }
+
+    /** Returns the number of players. */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /** Returns how player turns were executed. */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /** Returns how player logs were written. */
+    public LogMode getLogMode() {
+        return logMode;
+    }
+
+    /** Returns the winning player's ID, or -1 if the game ended without a winner. */
+    public int getWinnerId() {
+        return winnerId;
+    }
+
+    /** Returns the number of draw/discard turns taken by all players together. */
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /** Returns the most cards any deck held at once, including the deal. */
+    public int getPeakDeckDepth() {
+        return peakDeckDepth;
+    }
+
+    /** Returns the time taken to read and validate the pack, 0 if it was not measured. */
+    public long getPackLoadNanos() {
+        return packLoadNanos;
+    }
+
+    /** Returns the time taken to create decks, players and logs and deal the pack. */
+    public long getDealNanos() {
+        return dealNanos;
+    }
+
+    /** Returns the time from the start of play until every player had finished. */
+    public long getPlayNanos() {
+        return playNanos;
+    }
+
+    /** Returns the time taken to finish the player logs and write the deck files. */
+    public long getOutputNanos() {
+        return outputNanos;
+    }
+
+    /** Returns the sum of all phase times. */
+    public long getTotalNanos() {
+        return packLoadNanos + dealNanos + playNanos + outputNanos;
+    }
+
+    /**
+     * Returns this report as a single-line JSON object.
+     */
+    public String toJson() {
+        return "{\"players\":" + numPlayers
+                + ",\"engine\":\"" + name(engine) + "\""
+                + ",\"log\":\"" + name(logMode) + "\""
+                + ",\"winner\":" + winnerId
+                + ",\"totalTurns\":" + totalTurns
+                + ",\"peakDeckDepth\":" + peakDeckDepth
+                + ",\"packLoadNanos\":" + packLoadNanos
+                + ",\"dealNanos\":" + dealNanos
+                + ",\"playNanos\":" + playNanos
+                + ",\"outputNanos\":" + outputNanos
+                + ",\"totalNanos\":" + getTotalNanos()
+                + "}";
+    }
+
+    /**
+     * Returns this report as one CSV row matching {@link #CSV_HEADER}.
+     */
+    public String toCsv() {
+        return numPlayers + "," + name(engine) + "," + name(logMode) + "," + winnerId + ","
+                + totalTurns + "," + peakDeckDepth + "," + packLoadNanos + "," + dealNanos + ","
+                + playNanos + "," + outputNanos + "," + getTotalNanos();
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
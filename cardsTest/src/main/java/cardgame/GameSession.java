@@ -0,0 +1,138 @@
+package cardgame;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one game: whether it has ended, who won, and the decks to
+ * signal when it does. Every {@link Deck} and {@link Player} belongs to
+ * exactly one session, so independent games can run in the same JVM.
+ * <p>
+ * The outcome is a single atomic slot set once by compare-and-set, so
+ * declaring a win takes no lock and {@link #isGameWon()} is one volatile
+ * read. The end time is published in the same slot, so anyone who sees
+ * the game has ended also sees when. Ending the game wakes only players
+ * actually blocked on a deck, plus the idle players of a cooperative game
+ * through its end listener; everyone else sees the outcome the next time
+ * they check it.
+ */
+public class GameSession {
+
+    /** Who won and when; immutable, published once through the outcome slot. */
+    private static final class Outcome {
+        final int winnerId;    // -1 if ended without a winner
+        final long endNanos;   // System.nanoTime() when the game ended
+
+        Outcome(int winnerId, long endNanos) {
+            this.winnerId = winnerId;
+            this.endNanos = endNanos;
+        }
+    }
+
+    // Null while the game is still being played
+    private final AtomicReference<Outcome> outcome = new AtomicReference<>();
+
+    private volatile Deck[] decks;                              // Decks to signal when the game ends
+    private volatile Runnable endListener;                      // Run once the game ends, or null
+    private final AtomicLong lastExitNanos = new AtomicLong();  // Latest player exit, 0 if none
+
+    /** Returns true if the game has already been won (or ended). */
+    public boolean isGameWon() {
+        return outcome.get() != null;
+    }
+
+    /** Returns the ID of the winning player, or -1 if none yet. */
+    public int getWinnerId() {
+        Outcome o = outcome.get();
+        return o == null ? -1 : o.winnerId;
+    }
+
+    /**
+     * Registers the decks whose waiting players must be woken when the game ends.
+     *
+     * @param decks all decks of this game
+     */
+    public void setDecks(Deck[] decks) {
+        this.decks = decks;
+    }
+
+    /**
+     * Sets an action run by whoever ends the game, for players that neither
+     * block on a deck nor poll the outcome, e.g. the idle tasks of the
+     * cooperative engine. An engine must set it before it starts the
+     * players, or itself check the outcome once they have started.
+     *
+     * @param listener action to run once the game ends, or null for none
+     */
+    void setEndListener(Runnable listener) {
+        this.endListener = listener;
+    }
+
+    /**
+     * Attempt to declare the given player as the winner.
+     * If successful, updates game state and wakes players blocked on a deck.
+     *
+     * @param playerId ID of the player trying to declare victory
+     * @return true if the win was successfully declared, false otherwise
+     */
+    public boolean tryDeclareWin(int playerId) {
+        return end(playerId);
+    }
+
+    /**
+     * Ends the game without a winner, waking every waiting player.
+     *
+     * @return true if this call ended the game, false if it had already ended
+     */
+    public boolean endGame() {
+        return end(-1);
+    }
+
+    /**
+     * Records that a player has logged its exit. Called once by every player.
+     */
+    void recordExit() {
+        lastExitNanos.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    /** Returns System.nanoTime() at the end of the game, or -1 if it has not ended. */
+    long getEndNanos() {
+        Outcome o = outcome.get();
+        return o == null ? -1 : o.endNanos;
+    }
+
+    /**
+     * Returns the time from the end of the game to the last player exit
+     * recorded so far, in nanoseconds, or -1 if the game has not ended.
+     */
+    public long getShutdownNanos() {
+        Outcome o = outcome.get();
+        if (o == null) {
+            return -1;
+        }
+        return Math.max(0, lastExitNanos.get() - o.endNanos);
+    }
+
+    private boolean end(int playerId) {
+        // The end time is taken before the CAS, so no exit can be recorded earlier than the end
+        if (!outcome.compareAndSet(null, new Outcome(playerId, System.nanoTime()))) {
+            return false;
+        }
+
+        // Wake only the players blocked on a deck; the others poll the outcome
+        Deck[] toSignal = decks;
+        if (toSignal != null) {
+            for (Deck d : toSignal) {
+                if (d.hasWaiter()) {
+                    d.signalAllWaiting();
+                }
+            }
+        }
+
+        Runnable listener = endListener;
+        if (listener != null) {
+            listener.run();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package cardgame;
+
+/**
+ * The cards held by a player: four between turns, five between a draw and
+ * its discard. Cards keep the order they were added in, which is the
+ * order they are logged.
+ */
+public interface Hand {
+
+    /** Returns the number of cards held. */
+    int size();
+
+    /** Returns the card value in the given slot, counting from 0. */
+    int get(int slot);
+
+    /**
+     * Adds a card value after the cards already held.
+     *
+     * @throws IllegalStateException    if the hand is already full
+     * @throws IllegalArgumentException if the value cannot be stored in this hand
+     */
+    void add(int value);
+
+    /**
+     * Removes and returns the first card not of the preferred value, or the
+     * first card if every card is of the preferred value.
+     */
+    int discard();
+
+    /**
+     * Removes and returns the card in the given slot; later cards move down
+     * one slot and keep their order.
+     *
+     * @throws IndexOutOfBoundsException if the slot holds no card
+     */
+    int remove(int slot);
+
+    /** Returns true if the hand is four cards of the same value. */
+    boolean isWinning();
+}
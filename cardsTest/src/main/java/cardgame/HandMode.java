@@ -0,0 +1,23 @@
+package cardgame;
+
+/**
+ * Hand implementation used by each player.
+ */
+public enum HandMode {
+
+    /** Five int slots with incremental counts of preferred cards. */
+    SLOT,
+
+    /** Four 16-bit lanes in one long; card values must not exceed {@link PackedHand#MAX_VALUE}. */
+    PACKED;
+
+    /**
+     * Creates an empty hand of this kind.
+     *
+     * @param preferredValue card value the player keeps
+     * @return new hand
+     */
+    Hand create(int preferredValue) {
+        return this == PACKED ? new PackedHand(preferredValue) : new SlotHand(preferredValue);
+    }
+}
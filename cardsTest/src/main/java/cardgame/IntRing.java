@@ -0,0 +1,113 @@
+package cardgame;
+
+import java.util.Arrays;
+
+/**
+ * FIFO queue of card values backed by a power-of-two int array.
+ * Not thread-safe; callers must provide their own synchronisation.
+ */
+class IntRing {
+
+    // Backing storage; length is always a power of two
+    private int[] values;
+
+    // Index mask (values.length - 1)
+    private int mask;
+
+    // Read position (first card) and write position (one past last card)
+    private long head = 0;
+    private long tail = 0;
+
+    /**
+     * Creates a ring able to hold at least the given number of values
+     * before it has to grow.
+     *
+     * @param minCapacity minimum initial capacity
+     */
+    IntRing(int minCapacity) {
+        int capacity = ceilingPowerOfTwo(minCapacity);
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Rounds the given capacity up to the next power of two (minimum 2).
+     */
+    static int ceilingPowerOfTwo(int n) {
+        if (n <= 2) {
+            return 2;
+        }
+        if (n > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity too large: " + n);
+        }
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /** Returns the number of values held. */
+    int size() {
+        return (int) (tail - head);
+    }
+
+    /** Returns true if the ring holds no values. */
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    /** Returns the current capacity of the backing array. */
+    int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Ensures the ring can hold at least the given number of values
+     * without growing again.
+     */
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            resize(ceilingPowerOfTwo(minCapacity));
+        }
+    }
+
+    /** Appends a value at the tail, doubling the backing array if full. */
+    void addLast(int value) {
+        if (size() == values.length) {
+            resize(values.length << 1);
+        }
+        values[(int) tail & mask] = value;
+        tail++;
+    }
+
+    /**
+     * Removes and returns the value at the head.
+     *
+     * @return the first value, or {@link Deck#EMPTY} if the ring is empty
+     */
+    int pollFirst() {
+        if (head == tail) {
+            return Deck.EMPTY;
+        }
+        int value = values[(int) head & mask];
+        head++;
+        return value;
+    }
+
+    /** Returns the held values in FIFO order as a new array. */
+    int[] toArray() {
+        int size = size();
+        int[] out = new int[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = values[(int) (head + i) & mask];
+        }
+        return out;
+    }
+
+    /** Moves the contents into a new array of the given power-of-two capacity. */
+    private void resize(int newCapacity) {
+        int[] contents = toArray();
+        int[] grown = Arrays.copyOf(contents, newCapacity);
+        values = grown;
+        mask = newCapacity - 1;
+        head = 0;
+        tail = contents.length;
+    }
+}
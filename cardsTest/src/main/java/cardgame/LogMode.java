@@ -0,0 +1,39 @@
+package cardgame;
+
+/**
+ * How player actions are written to the player output files.
+ */
+public enum LogMode {
+
+    /** Each line is written and flushed synchronously by the player thread. */
+    TEXT,
+
+    /** Players queue compact records; a writer thread formats and writes them in batches. */
+    ASYNC,
+
+    /** Each player writes fixed-width binary event records; see {@link EventLogDecoder}. */
+    BINARY,
+
+    /** Player and deck files are written as chunks of a few shared segment files; see {@link SegmentExtractor}. */
+    SEGMENTED;
+
+    /**
+     * Creates a log sink of this kind.
+     *
+     * @param options game options supplying the output directory and batching settings
+     * @return new log sink
+     */
+    public LogSink open(GameOptions options) {
+        switch (this) {
+            case ASYNC:
+                return new AsyncLogSink(options.getOutputDir(), options.getLogBatchRecords(),
+                        options.getLogFlushMillis(), options.getLogQueueCapacity());
+            case BINARY:
+                return new BinaryLogSink(options.getOutputDir());
+            case SEGMENTED:
+                return new SegmentLogSink(options.getOutputDir(), options.getLogSegments());
+            default:
+                return new TextLogSink(options.getOutputDir());
+        }
+    }
+}
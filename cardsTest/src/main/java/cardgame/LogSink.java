@@ -0,0 +1,29 @@
+package cardgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Creates the per-player logs for a game and owns any shared resources
+ * (files, writer threads) behind them.
+ */
+public interface LogSink extends Closeable {
+
+    /**
+     * Opens the log for the given player.
+     *
+     * @param playerId ID of the player
+     * @return log receiving that player's actions
+     * @throws IOException if the log cannot be created
+     */
+    PlayerLog open(int playerId) throws IOException;
+
+    /**
+     * Writes out everything logged so far and releases shared resources.
+     * Must only be called after every player log has been closed.
+     *
+     * @throws IOException if pending output could not be written
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -3,17 +3,36 @@ package cardgame;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.function.IntConsumer;
 
 /**
  * Reads a pack of cards from a text file.
  * Each line in the file must contain a single non-negative integer.
  * The pack must contain exactly 8 * numPlayers cards.
+ * <p>
+ * The file is memory-mapped and digits are parsed straight from the
+ * mapped bytes, without creating a String per line. Lines end in
+ * {@code \n}, {@code \r\n} or {@code \r}; surrounding whitespace is ignored
+ * and blank lines are skipped.
+ * <p>
+ * {@link #streamPackValues(String, int, IntConsumer)} hands the values
+ * over as they are parsed instead of collecting them.
  */
 public class PackReader {
 
+    // Largest region mapped at once; lines may span two regions
+    private static final long MAP_CHUNK = 1L << 30;
+
+    // Most cards a loaded pack can hold; larger packs must be streamed
+    private static final int MAX_LOADED_CARDS = Integer.MAX_VALUE - 8;
+
     /**
      * Reads the pack from the given file path.
      *
@@ -25,7 +44,89 @@ public class PackReader {
      */
     public static List<Card> readPack(String path, int numPlayers) throws IOException {
 
-        List<Card> pack = new ArrayList<>();
+        int[] values = readPackValues(path, numPlayers);
+
+        List<Card> pack = new ArrayList<>(values.length);
+        for (int v : values) {
+            pack.add(Card.valueOf(v));
+        }
+        return pack;
+    }
+
+    /**
+     * Reads the pack from the given file path as card values.
+     *
+     * @param path       Path to the pack file
+     * @param numPlayers Number of players in the game
+     * @return card values in file order
+     * @throws IOException              If file not found or cannot be read
+     * @throws IllegalArgumentException If file contains invalid values or wrong number of cards
+     */
+    public static int[] readPackValues(String path, int numPlayers) throws IOException {
+
+        // Only allocate for a pack the file can actually hold
+        long expectedSize = checkPackFile(path, numPlayers);
+        if (expectedSize > MAX_LOADED_CARDS) {
+            throw new IllegalArgumentException("A pack of " + expectedSize + " integers is too large to load; stream it instead");
+        }
+
+        int[] pack = new int[(int) expectedSize];
+        streamPackValues(path, numPlayers, new IntConsumer() {
+            private int count = 0;
+
+            @Override
+            public void accept(int value) {
+                pack[count++] = value;
+            }
+        });
+        return pack;
+    }
+
+    /**
+     * Checks that a pack file exists and is large enough to hold a pack for
+     * the given number of players, before anything is allocated for that
+     * many players. A file too small is read through, so it is reported with
+     * the same error as a full read.
+     *
+     * @param path       Path to the pack file
+     * @param numPlayers Number of players in the game
+     * @return number of cards the pack must contain
+     * @throws IOException              If file not found or cannot be read
+     * @throws IllegalArgumentException If the file cannot hold a pack for that many players
+     */
+    static long checkPackFile(String path, int numPlayers) throws IOException {
+        File file = new File(path);
+        if (!file.exists()) {
+            throw new FileNotFoundException("File not found: " + path);
+        }
+
+        // Every card but the last takes at least a digit and a line break
+        long expectedSize = 8L * numPlayers;
+        if (expectedSize > (file.length() + 1) / 2) {
+            streamPackValues(path, numPlayers, value -> { });
+            throw new IllegalArgumentException("Pack must contain exactly " + expectedSize + " integers: " + path);
+        }
+        return expectedSize;
+    }
+
+    /**
+     * Reads the pack from the given file path, handing each card value to
+     * the consumer as soon as its line is parsed, so the pack never has to
+     * be held in memory. Cards beyond the expected count are counted but not
+     * handed over.
+     * <p>
+     * Validation happens on the fly: if the pack is invalid the exception is
+     * thrown after the consumer has already received the cards before the
+     * bad line (or all of them, if the count is wrong), and whatever was
+     * built from them should be discarded.
+     *
+     * @param path       Path to the pack file
+     * @param numPlayers Number of players in the game
+     * @param consumer   receives card values in file order
+     * @throws IOException              If file not found or cannot be read
+     * @throws IllegalArgumentException If file contains invalid values or wrong number of cards
+     */
+    public static void streamPackValues(String path, int numPlayers, IntConsumer consumer) throws IOException {
 
         File file = new File(path);
 
@@ -34,47 +135,165 @@ public class PackReader {
             throw new FileNotFoundException("File not found: " + path);
         }
 
-        // Read each line and parse into a Card
-        try (Scanner scanner = new Scanner(file)) {
+        long expectedSize = 8L * numPlayers;
 
-            int lineNumber = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
 
-            while (scanner.hasNextLine()) {
+            LineParser parser = new LineParser(channel, consumer, expectedSize);
+            long size = channel.size();
 
-                lineNumber++;
-                String line = scanner.nextLine().trim();
+            for (long pos = 0; pos < size; pos += MAP_CHUNK) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_CHUNK, size - pos));
+                parser.parse(buffer, pos);
+            }
+            parser.finish(size);
 
-                // Skip empty lines
-                if (line.isEmpty()) {
+            // Validate total number of cards
+            if (parser.count != expectedSize) {
+                throw new IllegalArgumentException(
+                    "Pack must contain exactly " + expectedSize + " integers. Found: " + parser.count
+                );
+            }
+        }
+    }
+
+    /**
+     * Byte-level parser that carries its state across mapped regions.
+     * Mirrors {@code Integer.parseInt(line.trim())} on every non-blank line.
+     */
+    private static final class LineParser {
+
+        private final FileChannel channel;
+        private final IntConsumer consumer;
+        private final long expectedSize;
+        long count = 0;
+
+        private int lineNumber = 0;
+        private long lineStart = 0;       // File offset of the current line
+        private boolean afterCR = false;  // Previous byte was '\r' (a following '\n' belongs to it)
+
+        // State of the current line
+        private boolean started;          // Seen a non-whitespace byte
+        private boolean invalid;          // Line cannot be an integer
+        private boolean negative;
+        private boolean digits;           // Seen at least one digit
+        private boolean ended;            // Whitespace seen after the number
+        private long magnitude;
+
+        LineParser(FileChannel channel, IntConsumer consumer, long expectedSize) {
+            this.channel = channel;
+            this.consumer = consumer;
+            this.expectedSize = expectedSize;
+            resetLine();
+        }
+
+        void parse(ByteBuffer buffer, long base) throws IOException {
+            int limit = buffer.limit();
+
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+
+                if (b == '\n' || b == '\r') {
+                    if (b == '\n' && afterCR) {
+                        // Second half of "\r\n": line already ended
+                        afterCR = false;
+                        lineStart = base + i + 1;
+                        continue;
+                    }
+                    endLine(base + i);
+                    afterCR = b == '\r';
+                    lineStart = base + i + 1;
                     continue;
                 }
+                afterCR = false;
 
-                int value;
+                // String.trim() strips everything up to and including ' '
+                if ((b & 0xFF) <= ' ') {
+                    if (started) {
+                        ended = true;
+                    }
+                    continue;
+                }
 
-                // Parse integer and validate
-                try {
-                    value = Integer.parseInt(line);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Non-integer at line " + lineNumber + ": '" + line + "'");
+                if (invalid) {
+                    continue;
+                }
+                if (ended) {
+                    invalid = true;
+                    continue;
                 }
 
-                if (value < 0) {
-                    throw new IllegalArgumentException("Negative value at line " + lineNumber + ": " + value);
+                if (!started) {
+                    started = true;
+                    if (b == '-' || b == '+') {
+                        negative = b == '-';
+                        continue;
+                    }
                 }
 
-                pack.add(new Card(value));
+                if (b >= '0' && b <= '9') {
+                    digits = true;
+                    magnitude = magnitude * 10 + (b - '0');
+                    if (magnitude > 1L + Integer.MAX_VALUE) {
+                        invalid = true;
+                    }
+                } else {
+                    invalid = true;
+                }
+            }
+        }
+
+        /** Ends the last line if the file does not end with a line break. */
+        void finish(long size) throws IOException {
+            if (lineStart < size) {
+                endLine(size);
             }
         }
 
-        // Validate total number of cards
-        int expectedSize = numPlayers * 8;
+        private void endLine(long end) throws IOException {
+            lineNumber++;
+
+            if (!started) {
+                // Skip empty lines
+                resetLine();
+                return;
+            }
+
+            long value = negative ? -magnitude : magnitude;
 
-        if (pack.size() != expectedSize) {
-            throw new IllegalArgumentException(
-                "Pack must contain exactly " + expectedSize + " integers. Found: " + pack.size()
-            );
+            // Parse integer and validate
+            if (invalid || !digits || value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+                throw new IllegalArgumentException("Non-integer at line " + lineNumber + ": '" + lineText(end) + "'");
+            }
+
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value at line " + lineNumber + ": " + value);
+            }
+
+            if (count < expectedSize) {
+                consumer.accept((int) value);
+            }
+            count++;
+            resetLine();
         }
 
-        return pack;
+        /** Re-reads the current line from the file for an error message. */
+        private String lineText(long end) throws IOException {
+            int length = (int) Math.min(end - lineStart, 4096);
+            ByteBuffer raw = ByteBuffer.allocate(length);
+            while (raw.hasRemaining() && channel.read(raw, lineStart + raw.position()) > 0) {
+                // Keep reading until the line is complete
+            }
+            return new String(raw.array(), 0, raw.position(), Charset.defaultCharset()).trim();
+        }
+
+        private void resetLine() {
+            started = false;
+            invalid = false;
+            negative = false;
+            digits = false;
+            ended = false;
+            magnitude = 0;
+        }
     }
 }
@@ -0,0 +1,116 @@
+package cardgame;
+
+/**
+ * A player's hand packed into a single long: four 16-bit lanes, slot i in
+ * bits 16i to 16i+15. The card drawn during a turn is held in an int until
+ * the discard makes room for it.
+ * <p>
+ * The win check compares the word with its first lane replicated into all
+ * four lanes, and the first non-preferred card is found with one SWAR
+ * (SIMD within a register) zero-lane test, so neither loops over the cards.
+ */
+final class PackedHand implements Hand {
+
+    /** Largest card value a lane can hold. */
+    static final int MAX_VALUE = 0xFFFF;
+
+    private static final long LANES = 0x0001_0001_0001_0001L;   // 1 in every lane
+    private static final long HIGH = 0x8000_8000_8000_8000L;    // Top bit of every lane
+
+    private final int preferredValue;
+    private final boolean preferredFits;  // False if no card can ever equal the preferred value
+    private final long preferredLanes;    // Preferred value in every lane
+    private long cards = 0;
+    private int drawn = 0;               // Fifth card, held only between draw and discard
+    private int size = 0;
+
+    PackedHand(int preferredValue) {
+        this.preferredValue = preferredValue;
+        this.preferredFits = preferredValue >= 0 && preferredValue <= MAX_VALUE;
+        this.preferredLanes = preferredFits ? preferredValue * LANES : 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int get(int slot) {
+        return slot < 4 ? (int) (cards >>> (slot << 4)) & MAX_VALUE : drawn;
+    }
+
+    @Override
+    public void add(int value) {
+        if (value < 0 || value > MAX_VALUE) {
+            throw new IllegalArgumentException("Card value " + value + " does not fit a packed hand");
+        }
+        if (size < 4) {
+            cards |= (long) value << (size << 4);
+        } else if (size == 4) {
+            drawn = value;
+        } else {
+            throw new IllegalStateException("Hand already holds 5 cards");
+        }
+        size++;
+    }
+
+    @Override
+    public boolean isWinning() {
+        return size == 4 && cards == (cards & MAX_VALUE) * LANES;
+    }
+
+    @Override
+    public int discard() {
+        return remove(firstNonPreferred());
+    }
+
+    @Override
+    public int remove(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " of a hand of " + size);
+        }
+        int value;
+
+        if (slot == 4) {
+            value = drawn;
+        } else {
+            value = get(slot);
+
+            // Shift the lanes above the slot down by one and move the drawn card in
+            long below = cards & ((1L << (slot << 4)) - 1);
+            long above = slot == 3 ? 0 : (cards >>> ((slot + 1) << 4)) << (slot << 4);
+            cards = below | above;
+            if (size == 5) {
+                cards |= (long) drawn << 48;
+            }
+        }
+        drawn = 0;
+        size--;
+        return value;
+    }
+
+    /** Returns the slot of the first card not of the preferred value, or 0 if there is none. */
+    private int firstNonPreferred() {
+        if (!preferredFits) {
+            return 0;
+        }
+
+        // Lanes that differ from the preferred value get their top bit set
+        long diff = cards ^ preferredLanes;
+        long nonZero = (((diff & ~HIGH) + ~HIGH) | diff) & HIGH;
+
+        int lanes = Math.min(size, 4);
+        if (lanes < 4) {
+            nonZero &= (1L << (lanes << 4)) - 1;
+        }
+
+        if (nonZero != 0) {
+            return Long.numberOfTrailingZeros(nonZero) >>> 4;
+        }
+        if (size == 5 && drawn != preferredValue) {
+            return 4;
+        }
+        return 0;
+    }
+}
@@ -1,10 +1,8 @@
 package cardgame;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Represents a player in the card game.
@@ -13,82 +11,216 @@ import java.util.List;
  */
 public class Player implements Runnable {
 
+    /** Returned by {@link #takeTurn()} once the game has been won. */
+    static final int GAME_OVER = -2;
+
+    private static final VarHandle TURNS;
+
+    static {
+        try {
+            TURNS = MethodHandles.lookup().findVarHandle(Player.class, "turns", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final int playerId;
-    private final List<Card> hand = new ArrayList<>();
+    private final Hand hand;           // Four cards plus the one just drawn
+    private final DiscardStrategy discardStrategy;
     private final Deck leftDeck;
     private final Deck rightDeck;
     private final int preferredValue;
     private final String outputFile;
+    private final LogSink logSink;
+    private final GameSession session;
+    private final boolean lockFree;    // True if both decks allow draw/discard without locking
+    private int lastDiscarded;         // Card discarded by the most recent turn
+    private long turns;                // Turns completed; written opaque so the watchdog and MBean can sample it
+    private PlayerMetrics metrics;     // Timings for the game's MBean, or null if not measured
+    private boolean announceWin = true; // Print "player N wins" to standard output on winning
 
     /**
      * Constructs a Player with ID and references to left and right decks.
+     * Actions are written synchronously to the player's text output file.
      */
     public Player(int playerId, Deck leftDeck, Deck rightDeck) {
+        this(playerId, leftDeck, rightDeck, new TextLogSink());
+    }
+
+    /**
+     * Constructs a Player whose actions are written through the given log sink.
+     * The player belongs to the same game as its left deck.
+     */
+    public Player(int playerId, Deck leftDeck, Deck rightDeck, LogSink logSink) {
+        this(playerId, leftDeck, rightDeck, logSink, leftDeck.getSession());
+    }
+
+    /**
+     * Constructs a Player belonging to the given game session.
+     */
+    public Player(int playerId, Deck leftDeck, Deck rightDeck, LogSink logSink, GameSession session) {
+        this(playerId, leftDeck, rightDeck, logSink, session, HandMode.SLOT);
+    }
+
+    /**
+     * Constructs a Player belonging to the given game session whose hand is of the given kind.
+     */
+    public Player(int playerId, Deck leftDeck, Deck rightDeck, LogSink logSink, GameSession session, HandMode handMode) {
+        this(playerId, leftDeck, rightDeck, logSink, session, handMode, DiscardMode.FIRST_NON_PREFERRED);
+    }
+
+    /**
+     * Constructs a Player belonging to the given game session whose hand is
+     * of the given kind and which discards by the given strategy.
+     */
+    public Player(int playerId, Deck leftDeck, Deck rightDeck, LogSink logSink, GameSession session, HandMode handMode,
+                  DiscardStrategy discardStrategy) {
         this.playerId = playerId;
+        this.session = session;
         this.leftDeck = leftDeck;
         this.rightDeck = rightDeck;
         this.preferredValue = playerId;
-        this.outputFile = "player" + playerId + "_output.txt";
+        this.hand = handMode.create(preferredValue);
+        this.discardStrategy = discardStrategy;
+        this.outputFile = PlayerLogFormat.fileName(playerId);
+        this.logSink = logSink;
+        this.lockFree = leftDeck.isLockFree() && rightDeck.isLockFree();
     }
 
     /**
      * Adds a card to the player's hand.
      */
     public void addCard(Card c) {
-        hand.add(c);
+        addValue(c.getValue());
+    }
+
+    /**
+     * Adds a card value to the player's hand.
+     */
+    public void addValue(int value) {
+        hand.add(value);
     }
 
     /**
      * Checks if the player has a winning hand (all four cards have the same value).
      */
-    private boolean hasWinningHand() {
+    boolean hasWinningHand() {
+        return hand.isWinning();
+    }
 
-        if (hand.size() != 4) {
-            return false;
-        }
+    /**
+     * Returns a snapshot of the current hand as a space-separated string.
+     */
+    public String handSnapshot() {
 
-        int firstValue = hand.get(0).getValue();
+        StringBuilder sb = new StringBuilder();
+        PlayerLogFormat.appendHand(sb, hand);
 
-        for (int i = 1; i < 4; i++) {
-            if (hand.get(i).getValue() != firstValue) {
-                return false;
-            }
-        }
+        return sb.toString();
+    }
 
-        return true;
+    /**
+     * Removes the card to discard from the hand, chosen by the discard strategy.
+     * By default a non-preferred card if available, otherwise the first card.
+     */
+    private int chooseCardToDiscard() {
+        return discardStrategy.discard(hand, preferredValue);
     }
 
     /**
-     * Returns a snapshot of the current hand as a space-separated string.
+     * Draws one card from the left deck and discards one to the right deck.
+     * With locking decks both locks are held, in deck ID order, for the whole
+     * turn; with lock-free decks no lock is taken because this player is the
+     * only reader of its left deck and the only writer of its right deck.
+     *
+     * @return the card drawn, {@link Deck#EMPTY} if the left deck was empty,
+     *         or {@link #GAME_OVER} if the game has already been won
      */
-    public String handSnapshot() {
+    int takeTurn() {
 
-        StringBuilder sb = new StringBuilder();
+        // Recorded only while a JFR recording has the event enabled
+        TurnEvent event = new TurnEvent();
+        event.begin();
+
+        return lockFree ? takeTurnWithoutLocks(event) : takeTurnWithLocks(event);
+    }
+
+    private int takeTurnWithoutLocks(TurnEvent event) {
+        if (session.isGameWon()) {
+            return GAME_OVER;
+        }
+        return drawAndDiscard(event);
+    }
+
+    private int takeTurnWithLocks(TurnEvent event) {
+
+        // Determine lock order to prevent deadlocks
+        Deck firstLock = leftDeck.getDeckId() < rightDeck.getDeckId() ? leftDeck : rightDeck;
+        Deck secondLock = (firstLock == leftDeck) ? rightDeck : leftDeck;
+
+        // Only time the lock wait if someone is measuring it
+        boolean timed = metrics != null || event.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
 
-        for (int i = 0; i < hand.size(); i++) {
-            sb.append(hand.get(i).getValue());
+        firstLock.lock();
+        secondLock.lock();
 
-            if (i < hand.size() - 1) {
-                sb.append(" ");
+        if (timed) {
+            long waited = System.nanoTime() - start;
+            event.lockWait = waited;
+            if (metrics != null) {
+                metrics.lockWait(waited);
             }
         }
 
-        return sb.toString();
+        try {
+            if (session.isGameWon()) {
+                return GAME_OVER;
+            }
+            return drawAndDiscard(event);
+        } finally {
+            secondLock.unlock();
+            firstLock.unlock();
+        }
     }
 
     /**
-     * Chooses a card to discard based on the preferred value.
-     * Discards a non-preferred card if available, otherwise discards the first card.
+     * Draws from the left deck and, if a card was drawn, discards to the right deck.
+     * Takes no turn lock, so callers must ensure no other player uses either deck.
+     *
+     * @return the card drawn, or {@link Deck#EMPTY} if the left deck was empty
      */
-    private Card chooseCardToDiscard() {
+    int drawAndDiscard() {
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        return drawAndDiscard(event);
+    }
 
-        for (int i = 0; i < hand.size(); i++) {
-            if (hand.get(i).getValue() != preferredValue) {
-                return hand.remove(i);
-            }
+    private int drawAndDiscard(TurnEvent event) {
+
+        // Draw a card from the left deck
+        int drawn = leftDeck.pollFirstValue();
+
+        if (drawn == Deck.EMPTY) {
+            return Deck.EMPTY;
         }
 
-        return hand.remove(0);
+        addValue(drawn);
+
+        lastDiscarded = chooseCardToDiscard();
+
+        // Discard to the right deck
+        rightDeck.addValue(lastDiscarded);
+
+        if (event.shouldCommit()) {
+            event.playerId = playerId;
+            event.fromDeck = leftDeck.getDeckId();
+            event.drawn = drawn;
+            event.toDeck = rightDeck.getDeckId();
+            event.discarded = lastDiscarded;
+            event.commit();
+        }
+        return drawn;
     }
 
     /**
@@ -98,97 +230,203 @@ public class Player implements Runnable {
     @Override
     public void run() {
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile, true), true)) {
+        try (PlayerLog log = openLog()) {
 
-            // Write initial hand to output
-            writer.println("player " + playerId + " initial hand " + handSnapshot());
+            // Write initial hand and check for an immediate win
+            if (!begin(log)) {
 
-            // Immediate win check
-            if (hasWinningHand() && CardGame.tryDeclareWin(playerId)) {
-                System.out.println("player " + playerId + " wins");
-                writer.println("player " + playerId + " wins");
-                writer.println("player " + playerId + " exits");
-                writer.println("player " + playerId + " final hand: " + handSnapshot());
-                return;
-            }
+                // Main game loop
+                while (!session.isGameWon()) {
+
+                    // Wait for a card to be available or game end
+                    try {
+                        if (!awaitCard()) {
+                            break;
+                        }
+                    } catch (InterruptedException e) {
+                        continue;
+                    }
 
-            // Main game loop
-            while (!CardGame.isGameWon()) {
+                    // Draw and discard as one atomic action
+                    int drawn = takeTurn();
 
-                // Wait for a card to be available or game end
-                try {
-                    if (!leftDeck.awaitCardOrGameEnd()) {
+                    if (drawn == GAME_OVER) {
+                        break;
+                    }
+
+                    if (drawn == Deck.EMPTY) {
+                        continue;
+                    }
+
+                    // Log the turn and check for a winning hand
+                    if (completeTurn(log, drawn)) {
                         break;
                     }
-                } catch (InterruptedException e) {
-                    continue;
                 }
+            }
 
-                // Determine lock order to prevent deadlocks
-                Deck firstLock = leftDeck.getDeckId() < rightDeck.getDeckId() ? leftDeck : rightDeck;
-                Deck secondLock = (firstLock == leftDeck) ? rightDeck : leftDeck;
+            // Write exit messages and final hand
+            finish(log);
 
-                firstLock.lock();
-                secondLock.lock();
+        } catch (IOException e) {
+            System.err.println("Error writing to " + outputFile + ": " + e.getMessage());
+        }
+    }
 
-                Card drawn = null;
-                Card discarded = null;
+    /**
+     * Waits on the left deck, counting the time spent if measured.
+     */
+    private boolean awaitCard() throws InterruptedException {
+        if (metrics == null) {
+            return leftDeck.awaitCardOrGameEnd();
+        }
+        long start = System.nanoTime();
+        try {
+            return leftDeck.awaitCardOrGameEnd();
+        } finally {
+            metrics.blocked(System.nanoTime() - start);
+        }
+    }
 
-                try {
-                    if (CardGame.isGameWon()) {
-                        break;
-                    }
+    /**
+     * Attaches the timings read by the game's metrics MBean. Must be set before play begins.
+     */
+    void setMetrics(PlayerMetrics metrics) {
+        this.metrics = metrics;
+    }
 
-                    // Draw a card from the left deck
-                    drawn = leftDeck.pollFirst();
+    /**
+     * Sets whether winning prints "player N wins" to standard output; the
+     * player's log records the win either way. Must be set before play begins.
+     */
+    void setAnnounceWin(boolean announceWin) {
+        this.announceWin = announceWin;
+    }
 
-                    if (drawn == null) {
-                        continue;
-                    }
+    /**
+     * Returns the counters attached by {@link #setMetrics(PlayerMetrics)}, or null.
+     */
+    PlayerMetrics getMetrics() {
+        return metrics;
+    }
 
-                    hand.add(drawn);
+    /**
+     * Opens this player's log through its log sink.
+     */
+    PlayerLog openLog() throws IOException {
+        return logSink.open(playerId);
+    }
+
+    /**
+     * Returns this player's ID.
+     */
+    int getPlayerId() {
+        return playerId;
+    }
 
-                    discarded = chooseCardToDiscard();
+    /**
+     * Returns the number of turns this player has completed. Only exact once
+     * the player has finished; a running player's count may be stale.
+     * Safe to call from any thread.
+     */
+    long getTurns() {
+        return (long) TURNS.getOpaque(this);
+    }
 
-                    // Discard to the right deck
-                    rightDeck.addCard(discarded);
+    /**
+     * Returns the game this player belongs to.
+     */
+    GameSession getSession() {
+        return session;
+    }
 
-                } finally {
-                    secondLock.unlock();
-                    firstLock.unlock();
-                }
+    /**
+     * Returns the deck this player draws from.
+     */
+    Deck getLeftDeck() {
+        return leftDeck;
+    }
 
-                // Write actions to output file
-                writer.println("player " + playerId + " draws a " + drawn.getValue() + " from deck " + leftDeck.getDeckId());
-                writer.println("player " + playerId + " discards a " + discarded.getValue() + " to deck " + rightDeck.getDeckId());
-                writer.println("player " + playerId + " current hand is " + handSnapshot());
+    /**
+     * Returns the deck this player discards to.
+     */
+    Deck getRightDeck() {
+        return rightDeck;
+    }
 
-                // Check for winning hand after draw/discard
-                if (hasWinningHand() && CardGame.tryDeclareWin(playerId)) {
-                    System.out.println("player " + playerId + " wins");
-                    writer.println("player " + playerId + " wins");
-                    break;
-                }
-            }
+    /**
+     * Logs the initial hand and declares a win if it is already a winning hand.
+     *
+     * @return true if this player won at the deal
+     */
+    boolean begin(PlayerLog log) {
 
-            // Notify player if another player has won
-            int winner = CardGame.getWinnerId();
+        // Write initial hand to output
+        log.initialHand(hand);
 
-            if (winner != -1 && winner != playerId) {
-                writer.println("player " + winner + " has informed player " + playerId + " that player " + winner + " has won");
-            }
+        // Immediate win check
+        return hasWinningHand() && declareWin(log, true);
+    }
 
-            // Write exit and final hand
-            writer.println("player " + playerId + " exits");
+    /**
+     * Logs a turn returned by {@link #takeTurn()} and declares a win if the
+     * hand is now a winning hand.
+     *
+     * @param drawn card drawn during the turn
+     * @return true if this player has won
+     */
+    boolean completeTurn(PlayerLog log, int drawn) {
 
-            if (winner == playerId) {
-                writer.println("player " + playerId + " final hand: " + handSnapshot());
-            } else {
-                writer.println("player " + playerId + " hand: " + handSnapshot());
-            }
+        // Only this player writes the count, so an opaque store needs no atomic instruction
+        TURNS.setOpaque(this, turns + 1);
 
-        } catch (IOException e) {
-            System.err.println("Error writing to " + outputFile + ": " + e.getMessage());
+        // Write actions to output file
+        log.turn(drawn, leftDeck.getDeckId(), lastDiscarded, rightDeck.getDeckId(), hand);
+
+        // Check for winning hand after draw/discard
+        return hasWinningHand() && declareWin(log, false);
+    }
+
+    /**
+     * Declares this player the winner if nobody has won yet, and logs it.
+     *
+     * @param atDeal true if the dealt hand is the winning hand
+     * @return true if this player has won
+     */
+    private boolean declareWin(PlayerLog log, boolean atDeal) {
+        if (!session.tryDeclareWin(playerId)) {
+            return false;
+        }
+
+        WinEvent event = new WinEvent();
+        if (event.isEnabled()) {
+            event.playerId = playerId;
+            event.atDeal = atDeal;
+            event.commit();
+        }
+
+        if (announceWin) {
+            System.out.println("player " + playerId + " wins");
         }
+        log.wins();
+        return true;
+    }
+
+    /**
+     * Logs who won, the exit, and the hand held at exit.
+     */
+    void finish(PlayerLog log) {
+
+        // Notify player if another player has won
+        int winner = session.getWinnerId();
+
+        if (winner != -1 && winner != playerId) {
+            log.informed(winner);
+        }
+
+        // Write exit and final hand
+        log.exits();
+        log.finalHand(winner == playerId, hand);
+        session.recordExit();
     }
 }
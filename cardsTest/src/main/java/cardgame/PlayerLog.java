@@ -0,0 +1,38 @@
+package cardgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the actions of a single player, in order.
+ * Each method corresponds to one line of the player's output file.
+ * Hands are only read during the call and may change afterwards.
+ */
+public interface PlayerLog extends Closeable {
+
+    /** Records the hand dealt to the player. */
+    void initialHand(Hand hand);
+
+    /** Records one draw/discard turn and the resulting hand. */
+    void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand);
+
+    /** Records that this player has won. */
+    void wins();
+
+    /** Records that another player informed this player of their win. */
+    void informed(int winnerId);
+
+    /** Records that this player has stopped playing. */
+    void exits();
+
+    /**
+     * Records the hand held when the player exits.
+     *
+     * @param winner true if this player won (logged as "final hand")
+     */
+    void finalHand(boolean winner, Hand hand);
+
+    /** Hands any pending output to the sink; the log must not be used afterwards. */
+    @Override
+    void close() throws IOException;
+}
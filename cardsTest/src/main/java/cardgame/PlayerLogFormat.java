@@ -0,0 +1,96 @@
+package cardgame;
+
+/**
+ * Text format of the player output files.
+ * Shared by every log implementation so they all produce identical lines.
+ */
+final class PlayerLogFormat {
+
+    private PlayerLogFormat() {
+    }
+
+    /** Returns the output file name for the given player. */
+    static String fileName(int playerId) {
+        return "player" + playerId + "_output.txt";
+    }
+
+    /** Returns the binary event log file name for the given player. */
+    static String binaryFileName(int playerId) {
+        return "player" + playerId + "_output.bin";
+    }
+
+    /** Appends hand values separated by single spaces. */
+    static StringBuilder appendHand(StringBuilder sb, int[] hand, int offset, int size) {
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(hand[offset + i]);
+        }
+        return sb;
+    }
+
+    /** Appends the cards of a live hand separated by single spaces. */
+    static StringBuilder appendHand(StringBuilder sb, Hand hand) {
+        for (int i = 0; i < hand.size(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(hand.get(i));
+        }
+        return sb;
+    }
+
+    static StringBuilder initialHand(StringBuilder sb, int playerId, Hand hand) {
+        sb.append("player ").append(playerId).append(" initial hand ");
+        return appendHand(sb, hand);
+    }
+
+    static StringBuilder initialHand(StringBuilder sb, int playerId, int[] hand, int offset, int size) {
+        sb.append("player ").append(playerId).append(" initial hand ");
+        return appendHand(sb, hand, offset, size);
+    }
+
+    static StringBuilder draws(StringBuilder sb, int playerId, int drawn, int fromDeck) {
+        return sb.append("player ").append(playerId).append(" draws a ").append(drawn)
+                .append(" from deck ").append(fromDeck);
+    }
+
+    static StringBuilder discards(StringBuilder sb, int playerId, int discarded, int toDeck) {
+        return sb.append("player ").append(playerId).append(" discards a ").append(discarded)
+                .append(" to deck ").append(toDeck);
+    }
+
+    static StringBuilder currentHand(StringBuilder sb, int playerId, Hand hand) {
+        sb.append("player ").append(playerId).append(" current hand is ");
+        return appendHand(sb, hand);
+    }
+
+    static StringBuilder currentHand(StringBuilder sb, int playerId, int[] hand, int offset, int size) {
+        sb.append("player ").append(playerId).append(" current hand is ");
+        return appendHand(sb, hand, offset, size);
+    }
+
+    static StringBuilder wins(StringBuilder sb, int playerId) {
+        return sb.append("player ").append(playerId).append(" wins");
+    }
+
+    static StringBuilder informed(StringBuilder sb, int playerId, int winnerId) {
+        return sb.append("player ").append(winnerId).append(" has informed player ").append(playerId)
+                .append(" that player ").append(winnerId).append(" has won");
+    }
+
+    static StringBuilder exits(StringBuilder sb, int playerId) {
+        return sb.append("player ").append(playerId).append(" exits");
+    }
+
+    static StringBuilder finalHand(StringBuilder sb, int playerId, boolean winner, Hand hand) {
+        sb.append("player ").append(playerId).append(winner ? " final hand: " : " hand: ");
+        return appendHand(sb, hand);
+    }
+
+    static StringBuilder finalHand(StringBuilder sb, int playerId, boolean winner, int[] hand, int offset, int size) {
+        sb.append("player ").append(playerId).append(winner ? " final hand: " : " hand: ");
+        return appendHand(sb, hand, offset, size);
+    }
+}
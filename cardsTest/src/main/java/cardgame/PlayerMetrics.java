@@ -0,0 +1,52 @@
+package cardgame;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lock-wait and blocked timings of one player; its turns are counted by
+ * {@link Player#getTurns()}. Only the player's own thread writes them, with
+ * opaque stores, so counting needs no atomic instruction; the metrics
+ * MBean reads them from another thread and may see slightly stale values.
+ * Padded so that neighbouring players' counters do not share a cache line.
+ */
+final class PlayerMetrics {
+
+    private static final VarHandle LOCK_WAIT;
+    private static final VarHandle BLOCKED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LOCK_WAIT = lookup.findVarHandle(PlayerMetrics.class, "lockWaitNanos", long.class);
+            BLOCKED = lookup.findVarHandle(PlayerMetrics.class, "blockedNanos", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private long p0, p1, p2, p3, p4, p5, p6;
+
+    private long lockWaitNanos;   // Time spent acquiring both deck locks
+    private long blockedNanos;    // Time spent in Deck.awaitCardOrGameEnd
+
+    @SuppressWarnings("unused")
+    private long q0, q1, q2, q3, q4, q5, q6;
+
+    void lockWait(long nanos) {
+        LOCK_WAIT.setOpaque(this, lockWaitNanos + nanos);
+    }
+
+    void blocked(long nanos) {
+        BLOCKED.setOpaque(this, blockedNanos + nanos);
+    }
+
+    long getLockWaitNanos() {
+        return (long) LOCK_WAIT.getOpaque(this);
+    }
+
+    long getBlockedNanos() {
+        return (long) BLOCKED.getOpaque(this);
+    }
+}
@@ -0,0 +1,33 @@
+package cardgame;
+
+/**
+ * How the headless mode of {@link CardGame} prints its {@link GameReport}.
+ */
+public enum ReportFormat {
+
+    /** One JSON object on a single line. */
+    JSON,
+
+    /** A CSV header line followed by one row, starting a results file. */
+    CSV,
+
+    /** One CSV row without the header, to append to a results file started with {@link #CSV}. */
+    CSV_ROW;
+
+    /**
+     * Formats a report in this format, ending with a line separator.
+     *
+     * @param report report to format
+     * @return formatted report
+     */
+    public String format(GameReport report) {
+        String nl = System.lineSeparator();
+        if (this == CSV) {
+            return GameReport.CSV_HEADER + nl + report.toCsv() + nl;
+        }
+        if (this == CSV_ROW) {
+            return report.toCsv() + nl;
+        }
+        return report.toJson() + nl;
+    }
+}
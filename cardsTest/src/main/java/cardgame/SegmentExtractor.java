@@ -0,0 +1,196 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command-line tool that reproduces individual output files from the
+ * segments written by {@link SegmentLogSink}.
+ * <p>
+ * Usage: {@code java -cp cards.jar cardgame.SegmentExtractor <segmentDir> <outputDir> [fileName...]}
+ * <br>
+ * Each named file, e.g. {@code player17_output.txt}, is written to the
+ * output directory byte-identical to the file a text-mode game would have
+ * written. Without file names every file in the segments is extracted.
+ */
+public class SegmentExtractor {
+
+    private final Path directory;
+    private final Map<String, List<Chunk>> files = new LinkedHashMap<>();
+
+    /**
+     * Reads the index of every segment in a directory.
+     *
+     * @param directory directory holding {@code segmentK.dat} and {@code segmentK.idx} files
+     * @throws IOException              if an index cannot be read
+     * @throws IllegalArgumentException if an index line is malformed
+     */
+    public SegmentExtractor(Path directory) throws IOException {
+        this.directory = directory;
+
+        // Segments are created on first use, so the numbers may have gaps
+        List<Integer> segments;
+        try (Stream<Path> entries = Files.list(directory)) {
+            segments = entries.map(p -> segmentNumber(p.getFileName().toString()))
+                    .filter(k -> k >= 0)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (int k : segments) {
+            readIndex(k, directory.resolve(SegmentLogSink.indexFileName(k)));
+        }
+    }
+
+    /** Extracts the files named on the command line, or all of them. */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SegmentExtractor <segmentDir> <outputDir> [fileName...]");
+            System.exit(2);
+        }
+        SegmentExtractor extractor;
+        Path outputDir = Path.of(args[1]);
+        try {
+            extractor = new SegmentExtractor(Path.of(args[0]));
+            Files.createDirectories(outputDir);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading segments in " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        List<String> names = args.length > 2
+                ? Arrays.asList(args).subList(2, args.length)
+                : new ArrayList<>(extractor.names());
+        int failures = 0;
+        for (String name : names) {
+            try {
+                System.out.println(extractor.extractTo(name, outputDir));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error extracting " + name + ": " + e.getMessage());
+                failures++;
+            }
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /** Returns the names of all files held in the segments, in the order first written. */
+    public Set<String> names() {
+        return files.keySet();
+    }
+
+    /**
+     * Writes one file to the given directory under its own name, replacing any existing file.
+     *
+     * @param name      output file name, e.g. {@code player17_output.txt}
+     * @param outputDir directory to write the file to
+     * @return path of the file written
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if the segments do not hold the file
+     */
+    public Path extractTo(String name, Path outputDir) throws IOException {
+        Path out = outputDir.resolve(name);
+        try (FileChannel channel = FileChannel.open(out,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            extract(name, channel);
+        }
+        return out;
+    }
+
+    /**
+     * Writes the contents of one file to a channel.
+     *
+     * @param name output file name, e.g. {@code player17_output.txt}
+     * @param out  destination of the file contents
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if the segments do not hold the file
+     */
+    public void extract(String name, WritableByteChannel out) throws IOException {
+        List<Chunk> chunks = files.get(name);
+        if (chunks == null) {
+            throw new IllegalArgumentException("No such file in segments: " + name);
+        }
+
+        FileChannel data = null;
+        int open = -1;
+        try {
+            for (Chunk c : chunks) {
+                if (c.segment != open) {
+                    if (data != null) {
+                        data.close();
+                    }
+                    data = FileChannel.open(directory.resolve(SegmentLogSink.dataFileName(c.segment)), StandardOpenOption.READ);
+                    open = c.segment;
+                }
+                long done = 0;
+                while (done < c.length) {
+                    long n = data.transferTo(c.offset + done, c.length - done, out);
+                    if (n <= 0) {
+                        throw new IOException("Segment " + c.segment + " ends inside " + name);
+                    }
+                    done += n;
+                }
+            }
+        } finally {
+            if (data != null) {
+                data.close();
+            }
+        }
+    }
+
+    /** Returns the number of a segment index file name, or -1 for any other file. */
+    private static int segmentNumber(String fileName) {
+        if (!fileName.startsWith("segment") || !fileName.endsWith(".idx")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(fileName.substring("segment".length(), fileName.length() - ".idx".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void readIndex(int segment, Path index) throws IOException {
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(index)) {
+            lineNumber++;
+            String[] parts = line.split(" ");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(index.getFileName() + " line " + lineNumber + " is malformed: '" + line + "'");
+            }
+            try {
+                Chunk c = new Chunk(segment, Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                files.computeIfAbsent(parts[0], n -> new ArrayList<>()).add(c);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(index.getFileName() + " line " + lineNumber + " is malformed: '" + line + "'");
+            }
+        }
+    }
+
+    /** Where one piece of a file lies in the segments. */
+    private static final class Chunk {
+
+        final int segment;
+        final long offset;
+        final long length;
+
+        Chunk(int segment, long offset, long length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every player log, and the deck output files, into a small number
+ * of shared segment files instead of one file each. Games with a very
+ * large ring would otherwise create two files per player.
+ * <p>
+ * Player and deck N go to segment {@code (N - 1) % segments}. A segment is
+ * a data file, {@code segmentK.dat}, holding chunks of output files
+ * back to back, and an index, {@code segmentK.idx}, with one line per
+ * chunk in the order written:
+ * <pre>
+ *   playerN_output.txt offset length
+ * </pre>
+ * Concatenating a file's chunks gives exactly the file a text-mode game
+ * would have written; {@link SegmentExtractor} does that on demand.
+ * Segments are created on first use, and the indexes are written by
+ * {@link #close()}.
+ */
+public class SegmentLogSink implements LogSink {
+
+    // Characters a player log collects before they are written as one chunk
+    private static final int CHUNK_CHARS = 4096;
+
+    private final Path directory;
+    private final Segment[] segments;
+
+    /** Creates a sink writing the given number of segments to the working directory. */
+    public SegmentLogSink(int segments) {
+        this(Path.of(""), segments);
+    }
+
+    /**
+     * Creates a sink writing the given number of segments to a directory.
+     *
+     * @throws IllegalArgumentException if {@code segments} is not positive
+     */
+    public SegmentLogSink(Path directory, int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Segment count must be positive: " + segments);
+        }
+        this.directory = directory;
+        this.segments = new Segment[segments];
+    }
+
+    /** Returns the data file name of the given segment. */
+    static String dataFileName(int segment) {
+        return "segment" + segment + ".dat";
+    }
+
+    /** Returns the index file name of the given segment. */
+    static String indexFileName(int segment) {
+        return "segment" + segment + ".idx";
+    }
+
+    @Override
+    public PlayerLog open(int playerId) throws IOException {
+        return new SegmentPlayerLog(playerId, segmentFor(playerId));
+    }
+
+    /**
+     * Appends a chunk of the named output file to the segment of the given
+     * player or deck ID. Chunks of one file must be appended in order.
+     *
+     * @param id    player or deck ID the file belongs to
+     * @param name  output file name, e.g. {@code deck3_output.txt}
+     * @param bytes chunk contents, consumed entirely
+     * @throws IOException if the segment cannot be written
+     */
+    void append(int id, String name, ByteBuffer bytes) throws IOException {
+        segmentFor(id).append(name, bytes);
+    }
+
+    /** Writes the index of every segment used and closes the data files. */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (int i = 0; i < segments.length; i++) {
+            Segment s = segments[i];
+            if (s == null) {
+                continue;
+            }
+            try {
+                s.close(directory.resolve(indexFileName(i)));
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            segments[i] = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Returns the segment of the given player or deck ID, creating it on first use. */
+    private synchronized Segment segmentFor(int id) throws IOException {
+        int k = Math.floorMod(id - 1, segments.length);
+        Segment s = segments[k];
+        if (s == null) {
+            s = new Segment(FileChannel.open(directory.resolve(dataFileName(k)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+            segments[k] = s;
+        }
+        return s;
+    }
+
+    /** One data file and the index of the chunks written to it so far. */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final StringBuilder index = new StringBuilder();
+        private long size = 0;
+
+        Segment(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        synchronized void append(String name, ByteBuffer bytes) throws IOException {
+            long offset = size;
+            int length = bytes.remaining();
+            while (bytes.hasRemaining()) {
+                size += channel.write(bytes, size);
+            }
+            index.append(name).append(' ').append(offset).append(' ').append(length).append('\n');
+        }
+
+        synchronized void close(Path indexFile) throws IOException {
+            try {
+                Files.writeString(indexFile, index);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /** Collects one player's lines and appends them to its segment in chunks. */
+    private static final class SegmentPlayerLog implements PlayerLog {
+
+        private final int playerId;
+        private final String name;
+        private final Segment segment;
+        private final StringBuilder sb = new StringBuilder(64);
+        private final StringBuilder pending = new StringBuilder(256);
+        private IOException failure;       // First write error, reported on close
+
+        SegmentPlayerLog(int playerId, Segment segment) {
+            this.playerId = playerId;
+            this.name = PlayerLogFormat.fileName(playerId);
+            this.segment = segment;
+        }
+
+        @Override
+        public void initialHand(Hand hand) {
+            println(PlayerLogFormat.initialHand(sb, playerId, hand));
+        }
+
+        @Override
+        public void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand) {
+            println(PlayerLogFormat.draws(sb, playerId, drawn, fromDeck));
+            println(PlayerLogFormat.discards(sb, playerId, discarded, toDeck));
+            println(PlayerLogFormat.currentHand(sb, playerId, hand));
+        }
+
+        @Override
+        public void wins() {
+            println(PlayerLogFormat.wins(sb, playerId));
+        }
+
+        @Override
+        public void informed(int winnerId) {
+            println(PlayerLogFormat.informed(sb, playerId, winnerId));
+        }
+
+        @Override
+        public void exits() {
+            println(PlayerLogFormat.exits(sb, playerId));
+        }
+
+        @Override
+        public void finalHand(boolean winner, Hand hand) {
+            println(PlayerLogFormat.finalHand(sb, playerId, winner, hand));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (failure == null && pending.length() > 0) {
+                drain();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private void println(StringBuilder line) {
+            pending.append(line).append(System.lineSeparator());
+            line.setLength(0);
+            if (pending.length() >= CHUNK_CHARS && failure == null) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            try {
+                segment.append(name, ByteBuffer.wrap(pending.toString().getBytes(Charset.defaultCharset())));
+            } catch (IOException e) {
+                failure = e;
+            }
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package cardgame;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Plays a game on the calling thread, one turn at a time, so that a given
+ * pack always produces the same game and the same output files.
+ * <p>
+ * Without a seed, players take turns round-robin: in every round each
+ * player whose left deck has a card takes one turn, in player order.
+ * With a seed, each turn is taken by a player chosen at random from those
+ * whose left deck has a card.
+ * <p>
+ * Turns use the same draw, discard and logging code as threaded players,
+ * but skip the turn locks because no other thread touches the decks.
+ */
+public class SimulationEngine {
+
+    private final Player[] players;
+    private final PlayerLog[] logs;
+    private final GameSession session;
+
+    // Players whose left deck has a card; positions[i] is player i's slot, or -1
+    private final int[] runnable;
+    private final int[] positions;
+    private int runnableCount = 0;
+
+    // Index of the player drawing from each deck
+    private final Map<Deck, Integer> drawerOf = new IdentityHashMap<>();
+
+    private SimulationEngine(Player[] players) {
+        this.players = players;
+        this.logs = new PlayerLog[players.length];
+        this.session = players.length > 0 ? players[0].getSession() : new GameSession();
+        this.runnable = new int[players.length];
+        this.positions = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            positions[i] = -1;
+            drawerOf.put(players[i].getLeftDeck(), i);
+        }
+    }
+
+    /**
+     * Plays a game with already dealt players and returns when every player
+     * has finished and closed its log.
+     *
+     * @param players players with their initial hands
+     * @param seed    seed of the random turn order, or null for round-robin
+     */
+    public static void play(Player[] players, Long seed) {
+        new SimulationEngine(players).run(seed);
+    }
+
+    private void run(Long seed) {
+        try {
+            // Log initial hands (a player may win at the deal) before anyone plays
+            for (int i = 0; i < players.length; i++) {
+                try {
+                    logs[i] = players[i].openLog();
+                } catch (IOException e) {
+                    System.err.println("Error writing to " + PlayerLogFormat.fileName(players[i].getPlayerId()) + ": " + e.getMessage());
+                    continue;
+                }
+                players[i].begin(logs[i]);
+            }
+
+            for (int i = 0; i < players.length; i++) {
+                updateRunnable(i);
+            }
+
+            if (seed == null) {
+                playRoundRobin();
+            } else {
+                playRandom(new SplittableRandom(seed));
+            }
+
+            // No card left to draw and nobody won: nothing can change any more
+            if (!session.isGameWon()) {
+                session.endGame();
+            }
+        } finally {
+            for (int i = 0; i < players.length; i++) {
+                if (logs[i] == null) {
+                    continue;
+                }
+                players[i].finish(logs[i]);
+                try {
+                    logs[i].close();
+                } catch (IOException e) {
+                    System.err.println("Error writing to " + PlayerLogFormat.fileName(players[i].getPlayerId()) + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void playRoundRobin() {
+        while (!session.isGameWon() && runnableCount > 0) {
+            for (int i = 0; i < players.length && !session.isGameWon(); i++) {
+                if (positions[i] != -1) {
+                    takeTurn(i);
+                }
+            }
+        }
+    }
+
+    private void playRandom(SplittableRandom random) {
+        while (!session.isGameWon() && runnableCount > 0) {
+            takeTurn(runnable[random.nextInt(runnableCount)]);
+        }
+    }
+
+    /** Plays one turn for player i and updates who can move next. */
+    private void takeTurn(int i) {
+        Player player = players[i];
+        int drawn = player.drawAndDiscard();
+
+        if (drawn != Deck.EMPTY) {
+            player.completeTurn(logs[i], drawn);
+
+            // The player it discarded to may now have a card to draw
+            Integer next = drawerOf.get(player.getRightDeck());
+            if (next != null) {
+                updateRunnable(next);
+            }
+        }
+        updateRunnable(i);
+    }
+
+    /** Adds player i to, or removes it from, the runnable set to match its left deck. */
+    private void updateRunnable(int i) {
+        boolean canMove = logs[i] != null && !players[i].getLeftDeck().isEmpty();
+        int pos = positions[i];
+
+        if (canMove && pos == -1) {
+            positions[i] = runnableCount;
+            runnable[runnableCount++] = i;
+        } else if (!canMove && pos != -1) {
+            // Move the last runnable player into the freed slot
+            int last = runnable[--runnableCount];
+            runnable[pos] = last;
+            positions[last] = pos;
+            positions[i] = -1;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cardgame;
+
+/**
+ * A player's hand held in five fixed slots: four cards plus the one just drawn.
+ * <p>
+ * Keeps a count of cards of the preferred value and a bit per slot holding
+ * any other value, so the win check and the choice of discard need no scan.
+ */
+final class SlotHand implements Hand {
+
+    /** Most cards a hand ever holds. */
+    static final int SLOTS = 5;
+
+    private final int[] values = new int[SLOTS];
+    private final int preferredValue;
+    private int size = 0;
+    private int preferredCount = 0;   // Cards equal to preferredValue
+    private int otherSlots = 0;       // Bit i set if slot i holds a non-preferred card
+
+    SlotHand(int preferredValue) {
+        this.preferredValue = preferredValue;
+    }
+
+    @Override
+    public void add(int value) {
+        if (size == SLOTS) {
+            throw new IllegalStateException("Hand already holds " + SLOTS + " cards");
+        }
+        values[size] = value;
+        if (value == preferredValue) {
+            preferredCount++;
+        } else {
+            otherSlots |= 1 << size;
+        }
+        size++;
+    }
+
+    @Override
+    public boolean isWinning() {
+        if (size != 4) {
+            return false;
+        }
+        if (preferredCount == 4) {
+            return true;
+        }
+        if (preferredCount != 0) {
+            return false;
+        }
+
+        // No preferred card: only four equal non-preferred values can win
+        int first = values[0];
+        return values[1] == first && values[2] == first && values[3] == first;
+    }
+
+    @Override
+    public int discard() {
+        return remove(otherSlots == 0 ? 0 : Integer.numberOfTrailingZeros(otherSlots));
+    }
+
+    @Override
+    public int remove(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " of a hand of " + size);
+        }
+        int value = values[slot];
+
+        // Close the gap so later cards keep their order
+        for (int i = slot; i < size - 1; i++) {
+            values[i] = values[i + 1];
+        }
+        otherSlots = (otherSlots & ((1 << slot) - 1)) | ((otherSlots >>> (slot + 1)) << slot);
+        if (value == preferredValue) {
+            preferredCount--;
+        }
+        size--;
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int get(int slot) {
+        return values[slot];
+    }
+}
@@ -0,0 +1,251 @@
+package cardgame;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Deck for the ring topology, where exactly one player discards into it
+ * and exactly one player draws from it.
+ * Uses lock-free head/tail sequences instead of a lock: the producer
+ * publishes the tail after writing a value, the consumer publishes the
+ * head after reading one. Storage is a chain of power-of-two segments;
+ * when a segment fills up the producer links a larger one, so adding
+ * never blocks. The deck has no lock: {@link #lock()} throws rather than
+ * appearing to protect anything.
+ */
+public class SpscDeck extends Deck {
+
+    // Storage segment; elements are addressed by global sequence & mask
+    private static final class Segment {
+        final int[] values;
+        final int mask;
+        final long start;              // Sequence of the first value stored here
+        volatile Segment next;         // Set once by the producer when this segment fills
+
+        Segment(int capacity, long start) {
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+            this.start = start;
+        }
+    }
+
+    // Next sequence to read; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+
+    // Next sequence to write; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    // Segment the producer writes into (producer-local)
+    private Segment producerSegment;
+
+    // Segment the consumer reads from (consumer-local)
+    private Segment consumerSegment;
+
+    // Consumer thread parked waiting for a card, or null
+    private volatile Thread waiter;
+
+    /**
+     * Creates a lock-free deck with the given ID.
+     *
+     * @param deckId unique identifier of this deck
+     */
+    public SpscDeck(int deckId) {
+        this(deckId, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a lock-free deck with the given ID and initial capacity.
+     *
+     * @param deckId   unique identifier of this deck
+     * @param capacity expected number of cards held at once
+     */
+    public SpscDeck(int deckId, int capacity) {
+        this(deckId, capacity, CardGame.currentSession());
+    }
+
+    /**
+     * Creates a lock-free deck with the given ID and initial capacity belonging to the given game.
+     *
+     * @param deckId   unique identifier of this deck
+     * @param capacity expected number of cards held at once
+     * @param session  game whose end stops waiting on this deck
+     */
+    public SpscDeck(int deckId, int capacity, GameSession session) {
+        super(deckId, session);
+        Segment s = new Segment(IntRing.ceilingPowerOfTwo(capacity), 0);
+        this.producerSegment = s;
+        this.consumerSegment = s;
+    }
+
+    /** This deck never needs to be locked for a draw or discard. */
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    /**
+     * Not supported: this deck has no lock.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void lock() {
+        throw new UnsupportedOperationException("Deck " + getDeckId() + " is lock-free and cannot be locked");
+    }
+
+    /**
+     * Not supported: this deck has no lock.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void unlock() {
+        throw new UnsupportedOperationException("Deck " + getDeckId() + " is lock-free and cannot be locked");
+    }
+
+    /**
+     * Waits until there is a card in the deck or the game has ended,
+     * spinning or yielding first if the wait strategy says so.
+     * Must only be called by the consuming player.
+     */
+    @Override
+    protected boolean waitForCardOrGameEnd() throws InterruptedException {
+        getWaitStrategy().spin(this);
+
+        Thread current = Thread.currentThread();
+        while (isEmpty()) {
+            if (getSession().isGameWon()) {
+                return false;
+            }
+            waiter = current;
+            // Re-check after registering so a concurrent add cannot be missed; isEmpty's
+            // volatile load of tail cannot be reordered before the volatile store of waiter
+            if (isEmpty() && !getSession().isGameWon()) {
+                LockSupport.park(this);
+            }
+            waiter = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a card value to the bottom of the deck and wakes the consumer if parked.
+     * Must only be called by the producing player (or the dealer before play).
+     */
+    @Override
+    public void addValue(int value) {
+        long t = tail.get();
+        Segment s = producerSegment;
+        if (t - Math.max(head.getAcquire(), s.start) == s.values.length) {
+            Segment grown = new Segment(s.values.length << 1, t);
+            s.next = grown;
+            producerSegment = grown;
+            s = grown;
+        }
+        s.values[(int) t & s.mask] = value;
+
+        // Volatile store: orders the publication before the waiter check below
+        tail.set(t + 1);
+
+        recordDepth((int) (t + 1 - head.getAcquire()));
+
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+        notifyReady();
+    }
+
+    /**
+     * Removes and returns the value of the first card in the deck.
+     * Must only be called by the consuming player.
+     */
+    @Override
+    public int pollFirstValue() {
+        long h = head.get();
+        if (h == tail.getAcquire()) {
+            return EMPTY;
+        }
+        Segment s = consumerSegment;
+        Segment next = s.next;
+        if (next != null && h == next.start) {
+            s = next;
+            consumerSegment = next;
+        }
+        int value = s.values[(int) h & s.mask];
+        head.setRelease(h + 1);
+        return value;
+    }
+
+    /**
+     * Returns a snapshot of the deck contents.
+     * Only consistent while neither player is active (e.g. after the game).
+     */
+    @Override
+    public int[] getValues() {
+        long h = head.getAcquire();
+        long t = tail.getAcquire();
+        int[] out = new int[(int) (t - h)];
+        Segment s = consumerSegment;
+        for (long seq = h; seq < t; seq++) {
+            while (s.next != null && seq >= s.next.start) {
+                s = s.next;
+            }
+            out[(int) (seq - h)] = s.values[(int) seq & s.mask];
+        }
+        return out;
+    }
+
+    /**
+     * Presizes storage. Only takes effect while the deck is empty and
+     * must be called before play begins.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+        long t = tail.get();
+        if (t == head.get() && capacity > producerSegment.values.length) {
+            Segment s = new Segment(IntRing.ceilingPowerOfTwo(capacity), t);
+            producerSegment = s;
+            consumerSegment = s;
+        }
+    }
+
+    /** Wakes the consumer if it is parked (e.g. game ended). */
+    @Override
+    public void signalAllWaiting() {
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+    }
+
+    /** Read without locking; may be momentarily stale while players are active. */
+    @Override
+    public int size() {
+        long h = head.getAcquire();
+        return (int) (tail.getAcquire() - h);
+    }
+
+    @Override
+    boolean mayHaveCard() {
+        return !isEmpty();
+    }
+
+    @Override
+    boolean hasWaiter() {
+        return waiter != null;
+    }
+
+    /**
+     * Must only be called by the consuming player. Reads tail with a volatile
+     * load, not an acquire load, because the park handshake needs it ordered
+     * after the volatile store of the waiter.
+     */
+    @Override
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
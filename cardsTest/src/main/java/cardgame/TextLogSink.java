@@ -0,0 +1,91 @@
+package cardgame;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+
+/**
+ * Writes each player's actions synchronously to its own text file,
+ * flushing after every line.
+ */
+public class TextLogSink implements LogSink {
+
+    private final Path directory;
+
+    /** Creates a sink writing to the working directory. */
+    public TextLogSink() {
+        this(Path.of(""));
+    }
+
+    /** Creates a sink writing to the given directory. */
+    public TextLogSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public PlayerLog open(int playerId) throws IOException {
+        return new TextPlayerLog(playerId, new PrintWriter(
+                new FileWriter(directory.resolve(PlayerLogFormat.fileName(playerId)).toFile(), true), true));
+    }
+
+    /** Nothing is buffered at sink level. */
+    @Override
+    public void close() {
+    }
+
+    /** Player log writing straight to a PrintWriter. */
+    private static final class TextPlayerLog implements PlayerLog {
+
+        private final int playerId;
+        private final PrintWriter writer;
+        private final StringBuilder sb = new StringBuilder(64);
+
+        TextPlayerLog(int playerId, PrintWriter writer) {
+            this.playerId = playerId;
+            this.writer = writer;
+        }
+
+        @Override
+        public void initialHand(Hand hand) {
+            println(PlayerLogFormat.initialHand(sb, playerId, hand));
+        }
+
+        @Override
+        public void turn(int drawn, int fromDeck, int discarded, int toDeck, Hand hand) {
+            println(PlayerLogFormat.draws(sb, playerId, drawn, fromDeck));
+            println(PlayerLogFormat.discards(sb, playerId, discarded, toDeck));
+            println(PlayerLogFormat.currentHand(sb, playerId, hand));
+        }
+
+        @Override
+        public void wins() {
+            println(PlayerLogFormat.wins(sb, playerId));
+        }
+
+        @Override
+        public void informed(int winnerId) {
+            println(PlayerLogFormat.informed(sb, playerId, winnerId));
+        }
+
+        @Override
+        public void exits() {
+            println(PlayerLogFormat.exits(sb, playerId));
+        }
+
+        @Override
+        public void finalHand(boolean winner, Hand hand) {
+            println(PlayerLogFormat.finalHand(sb, playerId, winner, hand));
+        }
+
+        @Override
+        public void close() {
+            writer.close();
+        }
+
+        private void println(StringBuilder line) {
+            writer.println(line);
+            line.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Plays thousands of games with shuffled packs on a fork-join pool and
+ * aggregates the outcomes: wins by seat, turns taken to win, wall-clock
+ * time per game and overall games per second.
+ * <p>
+ * Usage: {@code java -cp cards.jar cardgame.TournamentRunner <players> <games> <parallelGames> <seed> <outputDir> [pack]}
+ * <br>
+ * Game N is dealt the given pack, or a pack of eight cards of every
+ * player's value if none is given, shuffled with seed {@code seed + N},
+ * so a tournament is repeatable. Each game has its own
+ * {@link GameSession} and writes its output files to its own
+ * subdirectory ({@code game1}, {@code game2}, ...). Deck, log, engine and
+ * watchdog settings are read from the usual system properties; the
+ * simulated engine gives the most games per second.
+ */
+public class TournamentRunner {
+
+    /** Aggregated outcome of a tournament. */
+    public static final class Summary {
+
+        private final int games;
+        private final long[] winsBySeat;
+        private final long[] turnsToWin;   // Sorted, one per won game
+        private final long[] gameNanos;    // Sorted, one per game
+        private final long elapsedNanos;
+
+        Summary(int games, long[] winsBySeat, long[] turnsToWin, long[] gameNanos, long elapsedNanos) {
+            this.games = games;
+            this.winsBySeat = winsBySeat;
+            this.turnsToWin = turnsToWin;
+            this.gameNanos = gameNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** Returns the number of games played. */
+        public int getGames() {
+            return games;
+        }
+
+        /** Returns the number of games won by each seat; element 0 is player 1. */
+        public long[] getWinsBySeat() {
+            return winsBySeat.clone();
+        }
+
+        /** Returns the number of games that ended without a winner. */
+        public long getNoWinner() {
+            return games - turnsToWin.length;
+        }
+
+        /**
+         * Returns a percentile of the turns all players took together in a
+         * won game; -1 if no game was won.
+         *
+         * @param percentile between 0 and 100
+         */
+        public long getTurnsToWinPercentile(double percentile) {
+            return percentile(turnsToWin, percentile);
+        }
+
+        /**
+         * Returns a percentile of the wall-clock time of a game, from
+         * dealing to the last output file written, in nanoseconds.
+         *
+         * @param percentile between 0 and 100
+         */
+        public long getGameNanosPercentile(double percentile) {
+            return percentile(gameNanos, percentile);
+        }
+
+        /** Returns the wall-clock time of the whole tournament, in nanoseconds. */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /** Returns the games completed per second of the whole tournament. */
+        public double getGamesPerSecond() {
+            return games * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /** Returns the value at a percentile of sorted values by nearest rank, or -1 if there are none. */
+        private static long percentile(long[] sorted, double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            if (sorted.length == 0) {
+                return -1;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    /** Runs the tournament described on the command line. */
+    public static void main(String[] args) {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println("Usage: TournamentRunner <players> <games> <parallelGames> <seed> <outputDir> [pack]");
+            System.exit(2);
+        }
+
+        int numPlayers;
+        int games;
+        int parallelGames;
+        long seed;
+        GameOptions options;
+        try {
+            numPlayers = GameOptions.parsePositive(args[0], "players");
+            games = GameOptions.parsePositive(args[1], "games");
+            parallelGames = GameOptions.parsePositive(args[2], "parallelGames");
+            seed = GameOptions.parseLong(args[3], "seed");
+            options = GameOptions.fromSystemProperties();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        // Every shuffle holds the same cards, so one check covers the whole tournament
+        int[] pack = uniformPack(numPlayers);
+        if (args.length == 6) {
+            try {
+                pack = PackReader.readPackValues(args[5], numPlayers);
+                if (options.isAnalyzePack()) {
+                    PackAnalyzer.check(pack, numPlayers, options.getDiscardStrategy());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Invalid pack " + args[5] + ": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+
+        Summary s = run(numPlayers, pack, games, seed, options, Path.of(args[4]), parallelGames);
+
+        StringBuilder wins = new StringBuilder();
+        long[] bySeat = s.getWinsBySeat();
+        for (int i = 0; i < bySeat.length; i++) {
+            wins.append(' ').append(i + 1).append('=').append(bySeat[i]);
+        }
+        System.out.println("Tournament finished: " + s.getGames() + " games in " + s.getElapsedNanos() / 1_000_000
+                + " ms (" + String.format("%.1f", s.getGamesPerSecond()) + " games/s)");
+        System.out.println("wins by seat:" + wins + ", no winner=" + s.getNoWinner());
+        System.out.println("turns to win: p50=" + s.getTurnsToWinPercentile(50) + " p90=" + s.getTurnsToWinPercentile(90)
+                + " p99=" + s.getTurnsToWinPercentile(99) + " max=" + s.getTurnsToWinPercentile(100));
+        System.out.println("us per game: p50=" + s.getGameNanosPercentile(50) / 1_000
+                + " p90=" + s.getGameNanosPercentile(90) / 1_000 + " p99=" + s.getGameNanosPercentile(99) / 1_000
+                + " max=" + s.getGameNanosPercentile(100) / 1_000);
+    }
+
+    /**
+     * Plays a shuffle of the pack per game, at most {@code parallelGames} at once.
+     *
+     * @param numPlayers    number of players in every game
+     * @param pack          validated pack shuffled for each game; not modified
+     * @param games         number of games to play
+     * @param seed          seed of the shuffles; game N uses {@code seed + N}
+     * @param options       settings shared by all games; the output directory is replaced per game
+     * @param outputRoot    directory under which each game gets its own subdirectory
+     * @param parallelGames parallelism of the fork-join pool the games run on
+     * @return aggregated outcomes
+     */
+    public static Summary run(int numPlayers, int[] pack, int games, long seed, GameOptions options,
+                              Path outputRoot, int parallelGames) {
+
+        ForkJoinPool pool = new ForkJoinPool(parallelGames);
+
+        // Cooperative games share one pool of workers; their tasks must not wait behind blocked games
+        ExecutorService sharedWorkers = null;
+        if (options.getEngine() == Engine.COOPERATIVE && options.getWorkerPool() == null) {
+            sharedWorkers = Executors.newFixedThreadPool(options.getWorkers(), r -> {
+                Thread t = new Thread(r, "cooperative-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        // Each game writes only its own slots
+        int[] winners = new int[games];
+        long[] turns = new long[games];
+        long[] nanos = new long[games];
+
+        long start = System.nanoTime();
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                int game = i + 1;
+                GameOptions gameOptions = options.copy().setAnnounceWin(false)
+                        .setOutputDir(outputRoot.resolve("game" + game));
+                if (sharedWorkers != null) {
+                    gameOptions.setWorkerPool(sharedWorkers);
+                }
+
+                tasks.add(pool.submit(() -> {
+                    long gameStart = System.nanoTime();
+                    int[] shuffled = shuffled(pack, seed + game);
+                    GameReport report = CardGame.playGameWithReport(new GameSession(), numPlayers, shuffled, gameOptions);
+                    winners[game - 1] = report.getWinnerId();
+                    turns[game - 1] = report.getTotalTurns();
+                    nanos[game - 1] = System.nanoTime() - gameStart;
+                }));
+            }
+
+            // Joining gives every slot written by a game
+            for (ForkJoinTask<?> t : tasks) {
+                t.join();
+            }
+        } finally {
+            pool.shutdown();
+            if (sharedWorkers != null) {
+                sharedWorkers.shutdown();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] winsBySeat = new long[numPlayers];
+        long[] turnsToWin = new long[games];
+        int won = 0;
+        for (int i = 0; i < games; i++) {
+            if (winners[i] > 0) {
+                winsBySeat[winners[i] - 1]++;
+                turnsToWin[won++] = turns[i];
+            }
+        }
+        turnsToWin = Arrays.copyOf(turnsToWin, won);
+        Arrays.sort(turnsToWin);
+        Arrays.sort(nanos);
+        return new Summary(games, winsBySeat, turnsToWin, nanos, elapsed);
+    }
+
+    /**
+     * Returns a pack of eight cards of every player's value, in seat order.
+     * Every player can collect a winning hand from it.
+     */
+    static int[] uniformPack(int numPlayers) {
+        int[] pack = new int[8 * numPlayers];
+        for (int i = 0; i < pack.length; i++) {
+            pack[i] = i % numPlayers + 1;
+        }
+        return pack;
+    }
+
+    /** Returns a Fisher-Yates shuffle of the pack with the given seed. */
+    static int[] shuffled(int[] pack, long seed) {
+        int[] copy = pack.clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = copy[i];
+            copy[i] = copy[j];
+            copy[j] = t;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,41 @@
+package cardgame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one draw/discard turn. Its duration covers taking the
+ * deck locks, the draw and the discard.
+ */
+@Name("cardgame.Turn")
+@Label("Player Turn")
+@Category("Card Game")
+@Description("A player draws a card from its left deck and discards one to its right deck")
+@StackTrace(false)
+final class TurnEvent extends Event {
+
+    @Label("Player")
+    int playerId;
+
+    @Label("Draw Deck")
+    int fromDeck;
+
+    @Label("Card Drawn")
+    int drawn;
+
+    @Label("Discard Deck")
+    int toDeck;
+
+    @Label("Card Discarded")
+    int discarded;
+
+    @Label("Lock Wait")
+    @Description("Time spent acquiring both deck locks; 0 with lock-free decks")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+}
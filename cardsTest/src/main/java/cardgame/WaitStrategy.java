@@ -0,0 +1,63 @@
+package cardgame;
+
+/**
+ * How a player waits for a card to arrive in an empty deck.
+ */
+public enum WaitStrategy {
+
+    /** Blocks straight away until the discarding player signals. */
+    BLOCKING(0, 0),
+
+    /**
+     * Busy-spins until a card arrives and never blocks. Only sensible when
+     * every player has a core of its own.
+     */
+    SPINNING(Integer.MAX_VALUE, 0),
+
+    /**
+     * Spins briefly, then yields a few times, then blocks. Blocks straight
+     * away on a single core, where the card cannot arrive while this thread runs.
+     */
+    HYBRID(256, 16);
+
+    // Spinning only helps if the discarding player can run at the same time
+    private static final boolean MULTICORE = Runtime.getRuntime().availableProcessors() > 1;
+
+    private final int spins;    // Iterations of Thread.onSpinWait() before yielding
+    private final int yields;   // Iterations of Thread.yield() before blocking
+
+    WaitStrategy(int spins, int yields) {
+        this.spins = spins;
+        this.yields = yields;
+    }
+
+    /**
+     * Waits without blocking for a card in the deck or the end of its game,
+     * for as long as this strategy allows.
+     *
+     * @param deck deck the calling player draws from
+     * @return true if a card or the end of the game was seen, false if the
+     *         caller should block
+     * @throws InterruptedException if the thread is interrupted while spinning
+     */
+    boolean spin(Deck deck) throws InterruptedException {
+        if (this == BLOCKING || (this == HYBRID && !MULTICORE)) {
+            return false;
+        }
+        GameSession session = deck.getSession();
+        for (long i = 0; this == SPINNING || i < spins + yields; i++) {
+            if (deck.mayHaveCard() || session.isGameWon()) {
+                return true;
+            }
+            if (i < spins) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            if ((i & 0xFF) == 0xFF && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,208 @@
+package cardgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ends a game that has stopped making progress or has run past its
+ * budget, so that a bad pack or a scheduling problem cannot hang the
+ * process.
+ * <p>
+ * A daemon thread samples every player's turn count, an opaque field
+ * each player keeps anyway, so watching a game switches on none of the
+ * lock-wait or blocked timing of {@link PlayerMetrics}. It ends the game
+ * through {@link GameSession#endGame()}, the same path a won game takes,
+ * when:
+ * <ul>
+ *   <li>no player has completed a turn for the stall time,</li>
+ *   <li>the players together have taken the maximum number of turns, or</li>
+ *   <li>the game has been played for the maximum time.</li>
+ * </ul>
+ * Players then exit as usual and the game has no winner. The reason, each
+ * player's turns, each deck's depth and, for a stall, the stack of every
+ * thread are written to {@value #DIAGNOSTICS_FILE} in the output directory.
+ */
+final class Watchdog implements Runnable {
+
+    /** Name of the file the diagnostics are written to. */
+    static final String DIAGNOSTICS_FILE = "watchdog_diagnostics.txt";
+
+    private final GameSession session;
+    private final Player[] players;
+    private final Deck[] decks;
+    private final Path outputDir;
+    private final long stallNanos;
+    private final long maxTurns;
+    private final long maxNanos;
+    private final long sampleMillis;
+    private final long startNanos = System.nanoTime();
+    private final Thread thread;
+
+    private volatile boolean stopped = false;
+    private volatile String reason;            // Why the game was ended, null if it was not
+
+    private Watchdog(GameSession session, Player[] players, Deck[] decks, GameOptions options) {
+        this.session = session;
+        this.players = players;
+        this.decks = decks;
+        this.outputDir = options.getOutputDir();
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(options.getWatchdogStallMillis());
+        this.maxTurns = options.getWatchdogMaxTurns();
+        this.maxNanos = TimeUnit.MILLISECONDS.toNanos(options.getWatchdogMaxMillis());
+        this.sampleMillis = options.getWatchdogSampleMillis();
+
+        this.thread = new Thread(this, "cardgame-watchdog");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching a game if the options set a stall time or a budget.
+     * Must be called before play begins.
+     *
+     * @param session game about to be played
+     * @param players dealt players of the game
+     * @param decks   decks of the game
+     * @param options stall time, budgets and output directory
+     * @return the running watchdog, or null if none is configured
+     */
+    static Watchdog start(GameSession session, Player[] players, Deck[] decks, GameOptions options) {
+        if (options.getWatchdogStallMillis() == 0 && options.getWatchdogMaxTurns() == 0
+                && options.getWatchdogMaxMillis() == 0) {
+            return null;
+        }
+        Watchdog watchdog = new Watchdog(session, players, decks, options);
+        watchdog.thread.start();
+        return watchdog;
+    }
+
+    /**
+     * Stops watching once play is over, waiting for any diagnostics being written.
+     * The thread is unparked rather than interrupted, since an interrupt would
+     * close the channel of a diagnostics file being written.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Returns why the watchdog ended the game, or null if it did not. */
+    String getReason() {
+        return reason;
+    }
+
+    @Override
+    public void run() {
+        long lastTurns = 0;
+        long lastProgress = startNanos;
+
+        while (!stopped && !session.isGameWon()) {
+            if (!pause()) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long[] turns = sampleTurns();
+            long total = sum(turns);
+            if (total != lastTurns) {
+                lastTurns = total;
+                lastProgress = now;
+            }
+
+            String cause = null;
+            boolean stalled = stallNanos > 0 && now - lastProgress >= stallNanos;
+            if (stalled) {
+                cause = "no turn taken for " + TimeUnit.NANOSECONDS.toMillis(now - lastProgress) + " ms";
+            } else if (maxTurns > 0 && total >= maxTurns) {
+                cause = "turn budget of " + maxTurns + " reached";
+            } else if (maxNanos > 0 && now - startNanos >= maxNanos) {
+                cause = "time budget of " + TimeUnit.NANOSECONDS.toMillis(maxNanos) + " ms reached";
+            }
+            if (cause == null) {
+                continue;
+            }
+
+            // Snapshot the stuck state before the players start to exit
+            String diagnostics = diagnose(cause, now, turns, stalled);
+            if (session.endGame()) {
+                reason = cause;
+                writeDiagnostics(diagnostics);
+            }
+            return;
+        }
+    }
+
+    /** Waits one sample period; returns false if stopped meanwhile. */
+    private boolean pause() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sampleMillis);
+        long left;
+        while (!stopped && (left = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, left);
+        }
+        return !stopped;
+    }
+
+    private long[] sampleTurns() {
+        long[] turns = new long[players.length];
+        for (int i = 0; i < players.length; i++) {
+            turns[i] = players[i].getTurns();
+        }
+        return turns;
+    }
+
+    private String diagnose(String cause, long now, long[] turns, boolean withThreads) {
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Game ended without a winner: ").append(cause).append(nl);
+        sb.append("played for ").append(TimeUnit.NANOSECONDS.toMillis(now - startNanos)).append(" ms, ")
+                .append(sum(turns)).append(" turns").append(nl);
+        for (int i = 0; i < players.length; i++) {
+            Deck left = players[i].getLeftDeck();
+            sb.append("player ").append(players[i].getPlayerId()).append(": ").append(turns[i]).append(" turns, deck ")
+                    .append(left.getDeckId()).append(" holds ").append(left.size()).append(" cards").append(nl);
+        }
+        int peak = 0;
+        for (Deck d : decks) {
+            peak = Math.max(peak, d.getMaxDepth());
+        }
+        sb.append("peak deck depth ").append(peak).append(nl);
+
+        if (withThreads) {
+            sb.append(nl).append("Threads:").append(nl);
+            for (Map.Entry<Thread, StackTraceElement[]> e : Thread.getAllStackTraces().entrySet()) {
+                Thread t = e.getKey();
+                sb.append('"').append(t.getName()).append("\" ").append(t.getState()).append(nl);
+                for (StackTraceElement frame : e.getValue()) {
+                    sb.append("    at ").append(frame).append(nl);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private void writeDiagnostics(String diagnostics) {
+        Path file = outputDir.resolve(DIAGNOSTICS_FILE);
+        System.err.println("Watchdog: " + reason + "; game ended without a winner, see " + file);
+        try {
+            Files.writeString(file, diagnostics);
+        } catch (IOException e) {
+            System.err.println("Error writing to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) {
+            total += v;
+        }
+        return total;
+    }
+}
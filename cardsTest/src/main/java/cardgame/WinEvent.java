@@ -0,0 +1,26 @@
+package cardgame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a player declaring the win.
+ */
+@Name("cardgame.Win")
+@Label("Win Declared")
+@Category("Card Game")
+@Description("A player holds four cards of one value and has won the game")
+@StackTrace(false)
+final class WinEvent extends Event {
+
+    @Label("Player")
+    int playerId;
+
+    @Label("At Deal")
+    @Description("True if the dealt hand already won")
+    boolean atDeal;
+}
@@ -0,0 +1,58 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+	// Player 1 is dealt four 1s and wins at once; player 2 can never collect four of a kind
+	private static final int[] PACK = {1, 3, 1, 4, 1, 5, 1, 6, 0, 7, 8, 9, 10, 11, 12, 13};
+
+	@TempDir
+	Path outputRoot;
+
+	@Test
+	void testParallelThreadGames() {
+		List<int[]> packs = new ArrayList<>();
+		for (int i = 0; i < 6; i++) packs.add(PACK.clone());
+
+		List<BatchRunner.Result> results = BatchRunner.run(2, packs, new GameOptions(), outputRoot, 3);
+
+		// Every game has its own session, so each reports its own winner
+		assertEquals(6, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i + 1, results.get(i).getGame());
+			assertEquals(1, results.get(i).getWinnerId(), "Player 1 should win game " + (i + 1));
+			assertGameOutputs(outputRoot.resolve("game" + (i + 1)));
+		}
+	}
+
+	@Test
+	void testParallelCooperativeGames() {
+		List<int[]> packs = new ArrayList<>();
+		for (int i = 0; i < 4; i++) packs.add(PACK.clone());
+
+		GameOptions options = new GameOptions().setEngine(Engine.COOPERATIVE).setWorkers(2);
+		List<BatchRunner.Result> results = BatchRunner.run(2, packs, options, outputRoot, 4);
+
+		// Games share one worker pool but not their state or output
+		for (BatchRunner.Result r : results) {
+			assertEquals(1, r.getWinnerId());
+			assertGameOutputs(outputRoot.resolve("game" + r.getGame()));
+		}
+	}
+
+	private static void assertGameOutputs(Path dir) {
+		for (int i = 1; i <= 2; i++) {
+			assertTrue(Files.exists(dir.resolve("player" + i + "_output.txt")), "Missing player file in " + dir);
+			assertTrue(Files.exists(dir.resolve("deck" + i + "_output.txt")), "Missing deck file in " + dir);
+		}
+	}
+}
@@ -61,4 +61,26 @@ class CardTest {
 		Card c = new Card(7);
 		assertEquals("7", c.toString());
 	}
+
+	@Test
+	void testValueOfReturnsCanonicalInstance() {
+		// Cached values should always return the same shared card
+		assertSame(Card.valueOf(5), Card.valueOf(5));
+		assertEquals(5, Card.valueOf(5).getValue());
+	}
+
+	@Test
+	void testValueOfOutOfCacheRange() {
+		// Values beyond the cache still produce correct, equal cards
+		Card a = Card.valueOf(Card.CACHE_SIZE + 10);
+		Card b = Card.valueOf(Card.CACHE_SIZE + 10);
+		assertEquals(Card.CACHE_SIZE + 10, a.getValue());
+		assertEquals(a, b);
+	}
+
+	@Test
+	void testValueOfInvalid() {
+		// Negative values should be rejected by the factory too
+		assertThrows(IllegalArgumentException.class, () -> Card.valueOf(-1));
+	}
 }
@@ -29,8 +29,10 @@ class ConcurrencyTest {
 	@Test
 	void testSimultaneousPlayerActions() throws InterruptedException {
 		// Two players share the same decks to test concurrent access
-		Deck leftDeck = new Deck(1);
-		Deck rightDeck = new Deck(2);
+		GameSession session = new GameSession();
+		Deck leftDeck = new Deck(1, 8, session);
+		Deck rightDeck = new Deck(2, 8, session);
+		session.setDecks(new Deck[]{leftDeck, rightDeck});
 
 		Player player1 = new Player(1, leftDeck, rightDeck);
 		Player player2 = new Player(2, leftDeck, rightDeck);
@@ -54,8 +56,14 @@ class ConcurrencyTest {
 		Thread t2 = new Thread(player2);
 		t1.start();
 		t2.start();
-		t1.join();
-		t2.join();
+
+		// Nobody can win, so end the game once both leftover cards have moved across
+		awaitDeckSize(rightDeck, 2);
+		session.endGame();
+		t1.join(2000);
+		t2.join(2000);
+		assertFalse(t1.isAlive() || t2.isAlive(), "Players should stop when the game is ended");
+		assertEquals(-1, session.getWinnerId(), "Ended game should have no winner");
 
 		// Each player should still hold 4 cards after turn cycle
 		assertEquals(4, player1.handSnapshot().split(" ").length, "Player 1 should have 4 cards");
@@ -70,9 +78,11 @@ class ConcurrencyTest {
 	@Test
 	void testDeadlockPrevention() throws InterruptedException {
 		// Three decks and two players in chain to test for deadlock
-		Deck d1 = new Deck(1);
-		Deck d2 = new Deck(2);
-		Deck d3 = new Deck(3);
+		GameSession session = new GameSession();
+		Deck d1 = new Deck(1, 8, session);
+		Deck d2 = new Deck(2, 8, session);
+		Deck d3 = new Deck(3, 8, session);
+		session.setDecks(new Deck[]{d1, d2, d3});
 
 		Player p1 = new Player(1, d1, d2);
 		Player p2 = new Player(2, d2, d3);
@@ -91,6 +101,10 @@ class ConcurrencyTest {
 		t1.start();
 		t2.start();
 
+		// Both players finish their turns without blocking each other
+		awaitDeckSize(d3, 3);
+		session.endGame();
+
 		t1.join(2000);
 		t2.join(2000);
 
@@ -101,8 +115,10 @@ class ConcurrencyTest {
 	@Test
 	void testGameTerminationUnderConcurrency() throws InterruptedException {
 		// Both players can immediately win, ensuring clean termination
-		Deck deck1 = new Deck(1);
-		Deck deck2 = new Deck(2);
+		GameSession session = new GameSession();
+		Deck deck1 = new Deck(1, 8, session);
+		Deck deck2 = new Deck(2, 8, session);
+		session.setDecks(new Deck[]{deck1, deck2});
 
 		Player player1 = new Player(1, deck1, deck2);
 		Player player2 = new Player(2, deck2, deck1);
@@ -126,8 +142,17 @@ class ConcurrencyTest {
 		t2.join();
 
 		// Confirm that game state reflects a winner
-		assertTrue(CardGame.isGameWon(), "Game should have a winner");
-		int winner = CardGame.getWinnerId();
+		assertTrue(session.isGameWon(), "Game should have a winner");
+		int winner = session.getWinnerId();
 		assertTrue(winner == 1 || winner == 2, "Winner should be player 1 or 2");
 	}
+
+	// Waits until the deck holds the given number of cards, failing after 2 seconds
+	private static void awaitDeckSize(Deck deck, int size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000;
+		while (deck.getValues().length != size) {
+			assertTrue(System.currentTimeMillis() < deadline, "Deck " + deck.getDeckId() + " never reached " + size + " cards");
+			Thread.sleep(5);
+		}
+	}
 }
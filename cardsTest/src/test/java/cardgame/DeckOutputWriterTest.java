@@ -0,0 +1,88 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckOutputWriterTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void testMatchesPrintWriterOutput() throws IOException {
+		// Empty, extreme and long decks; the long one spans several buffer flushes
+		Deck[] decks = {
+				deck(1),
+				deck(2, 0, 7, 42),
+				deck(3, Integer.MIN_VALUE, -1, Integer.MAX_VALUE),
+				deck(4, new SplittableRandom(4).ints(40_000, 0, 1_000_000).toArray())
+		};
+		Path actual = Files.createDirectory(dir.resolve("actual"));
+		Path expected = Files.createDirectory(dir.resolve("expected"));
+
+		DeckOutputWriter.writeAll(decks, actual);
+		writeWithPrintWriter(decks, expected);
+
+		assertSameFiles(decks, expected, actual);
+	}
+
+	@Test
+	void testParallelWriteOfManyDecks() throws IOException {
+		SplittableRandom random = new SplittableRandom(19);
+		Deck[] decks = new Deck[DeckOutputWriter.DECKS_PER_THREAD * 4 + 3];
+		for (int i = 0; i < decks.length; i++) {
+			decks[i] = deck(i + 1, random.ints(random.nextInt(50), 1, 500).toArray());
+		}
+		Path actual = Files.createDirectory(dir.resolve("actual"));
+		Path expected = Files.createDirectory(dir.resolve("expected"));
+
+		// Four threads split the decks between them; every file is still written once
+		DeckOutputWriter.writeAll(decks, actual, 4);
+		writeWithPrintWriter(decks, expected);
+
+		assertSameFiles(decks, expected, actual);
+	}
+
+	@Test
+	void testReplacesLongerFile() throws IOException {
+		Path file = dir.resolve(DeckOutputWriter.fileName(1));
+		Files.writeString(file, "an older and much longer deck file" + System.lineSeparator());
+
+		DeckOutputWriter.writeAll(new Deck[]{deck(1, 5)}, dir);
+		assertEquals("deck1 contents: 5" + System.lineSeparator(), Files.readString(file));
+	}
+
+	private static Deck deck(int id, int... values) {
+		Deck d = new Deck(id, Math.max(1, values.length), new GameSession());
+		for (int v : values) d.addValue(v);
+		return d;
+	}
+
+	/** The original deck output code. */
+	private static void writeWithPrintWriter(Deck[] decks, Path outputDir) throws IOException {
+		for (Deck d : decks) {
+			try (PrintWriter pw = new PrintWriter(outputDir.resolve("deck" + d.getDeckId() + "_output.txt").toFile())) {
+				pw.print("deck" + d.getDeckId() + " contents:");
+				for (int v : d.getValues()) {
+					pw.print(" " + v);
+				}
+				pw.println();
+			}
+		}
+	}
+
+	private static void assertSameFiles(Deck[] decks, Path expected, Path actual) throws IOException {
+		for (Deck d : decks) {
+			String name = DeckOutputWriter.fileName(d.getDeckId());
+			assertArrayEquals(Files.readAllBytes(expected.resolve(name)), Files.readAllBytes(actual.resolve(name)), name);
+		}
+	}
+}
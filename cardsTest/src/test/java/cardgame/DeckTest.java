@@ -0,0 +1,111 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+class DeckTest {
+
+	@Test
+	void testFifoOrder() {
+		// Cards come out in the order they were added
+		Deck deck = new Deck(1);
+		deck.addCard(new Card(4));
+		deck.addCard(new Card(7));
+		deck.addValue(2);
+
+		assertEquals(4, deck.pollFirst().getValue());
+		assertEquals(7, deck.pollFirstValue());
+		assertEquals(2, deck.pollFirstValue());
+	}
+
+	@Test
+	void testPollEmpty() {
+		// Empty deck returns null / EMPTY rather than throwing
+		Deck deck = new Deck(1);
+		assertNull(deck.pollFirst());
+		assertEquals(Deck.EMPTY, deck.pollFirstValue());
+	}
+
+	@Test
+	void testGrowsBeyondInitialCapacity() {
+		// Ring storage must grow and keep FIFO order across wrap-around
+		Deck deck = new Deck(1, 2);
+		deck.addValue(0);
+		deck.addValue(1);
+		assertEquals(0, deck.pollFirstValue());
+		for (int i = 2; i < 20; i++) {
+			deck.addValue(i);
+		}
+
+		int[] values = deck.getValues();
+		assertEquals(19, values.length);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(i + 1, values[i]);
+		}
+	}
+
+	@Test
+	void testGetContentsSnapshot() {
+		// Snapshot reflects contents without removing them
+		Deck deck = new Deck(3);
+		deck.addValue(5);
+		deck.addValue(6);
+
+		List<Card> contents = deck.getContents();
+		assertEquals(List.of(new Card(5), new Card(6)), contents);
+		assertEquals(2, deck.getValues().length);
+	}
+
+	@Test
+	void testEveryWaitStrategyWakesOnCard() throws Exception {
+		// A waiting player returns once a card arrives, however it waits
+		for (DeckMode mode : DeckMode.values()) {
+			for (WaitStrategy strategy : WaitStrategy.values()) {
+				GameSession session = new GameSession();
+				Deck deck = mode.create(1, 8, session);
+				deck.setWaitStrategy(strategy);
+
+				Thread waiter = awaitInThread(deck);
+				Thread.sleep(20);
+				deck.addValue(3);
+				waiter.join(2000);
+				assertFalse(waiter.isAlive(), mode + "/" + strategy + " waiter should see the card");
+				assertEquals(3, deck.pollFirstValue());
+			}
+		}
+	}
+
+	@Test
+	void testEveryWaitStrategyWakesOnGameEnd() throws Exception {
+		// Ending the game releases a waiter on an empty deck
+		for (DeckMode mode : DeckMode.values()) {
+			for (WaitStrategy strategy : WaitStrategy.values()) {
+				GameSession session = new GameSession();
+				Deck deck = mode.create(1, 8, session);
+				deck.setWaitStrategy(strategy);
+				session.setDecks(new Deck[]{deck});
+
+				Thread waiter = awaitInThread(deck);
+				Thread.sleep(20);
+				session.endGame();
+				waiter.join(2000);
+				assertFalse(waiter.isAlive(), mode + "/" + strategy + " waiter should see the end");
+			}
+		}
+	}
+
+	private static Thread awaitInThread(Deck deck) {
+		Thread t = new Thread(() -> {
+			try {
+				deck.awaitCardOrGameEnd();
+			} catch (InterruptedException ignored) {
+				// Reported by the liveness check
+			}
+		});
+		t.start();
+		return t;
+	}
+}
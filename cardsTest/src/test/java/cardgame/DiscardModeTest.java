@@ -0,0 +1,105 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscardModeTest {
+
+	@TempDir
+	Path outputDir;
+
+	@Test
+	void testFirstNonPreferred() {
+		// Oldest card that is not the player's own value
+		for (HandMode mode : HandMode.values()) {
+			Hand hand = hand(mode, 1, 1, 3, 3, 3, 5);
+			assertEquals(3, DiscardMode.FIRST_NON_PREFERRED.discard(hand, 1));
+			assertCards(hand, 1, 3, 3, 5);
+		}
+	}
+
+	@Test
+	void testMostFrequentKeepsPairs() {
+		// Keeps the 1 and the pair of 3s, drops the oldest single
+		for (HandMode mode : HandMode.values()) {
+			Hand hand = hand(mode, 1, 3, 7, 3, 1, 9);
+			assertEquals(7, DiscardMode.MOST_FREQUENT.discard(hand, 1));
+			assertCards(hand, 3, 3, 1, 9);
+		}
+	}
+
+	@Test
+	void testMostFrequentAllPreferred() {
+		// Nothing but the player's own value: the oldest card goes
+		for (HandMode mode : HandMode.values()) {
+			Hand hand = hand(mode, 2, 2, 2, 2, 2, 2);
+			assertEquals(2, DiscardMode.MOST_FREQUENT.discard(hand, 2));
+			assertEquals(4, hand.size());
+		}
+	}
+
+	@Test
+	void testMajorityGivesUpOwnValue() {
+		// Three 4s outnumber the player's single 1, so the 1 is discarded
+		for (HandMode mode : HandMode.values()) {
+			Hand hand = hand(mode, 1, 1, 4, 4, 6, 4);
+			assertEquals(1, DiscardMode.MAJORITY.discard(hand, 1));
+			assertCards(hand, 4, 4, 6, 4);
+		}
+	}
+
+	@Test
+	void testMajorityTiePrefersOwnValue() {
+		// Two 1s and two 4s: the player keeps collecting its own value
+		for (HandMode mode : HandMode.values()) {
+			Hand hand = hand(mode, 1, 4, 1, 4, 1, 8);
+			assertEquals(4, DiscardMode.MAJORITY.discard(hand, 1));
+			assertCards(hand, 1, 4, 1, 8);
+		}
+	}
+
+	@Test
+	void testStrategiesPlaySamplePacks() throws IOException {
+		// Every strategy finishes the sample games with a winner and conserves the cards
+		for (DiscardMode discard : DiscardMode.values()) {
+			for (int n : new int[]{4, 8, 20}) {
+				int[] pack = PackReader.readPackValues("src/main/resources/" + n + "players.txt", n);
+				GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(5L)
+						.setDiscardStrategy(discard).setLogMode(LogMode.BINARY).setOutputDir(outputDir)
+						.setWatchdogMaxTurns(1_000_000);
+				GameReport report = CardGame.playGameWithReport(new GameSession(), n, pack, options);
+				assertTrue(report.getWinnerId() > 0, discard + " with " + n + " players");
+			}
+		}
+	}
+
+	@Test
+	void testSelectedByProperty() {
+		// Parsed like every other mode property
+		System.setProperty(GameOptions.DISCARD_PROPERTY, "majority");
+		try {
+			assertEquals(DiscardMode.MAJORITY, GameOptions.fromSystemProperties().getDiscardStrategy());
+		} finally {
+			System.clearProperty(GameOptions.DISCARD_PROPERTY);
+		}
+		assertEquals(DiscardMode.FIRST_NON_PREFERRED, new GameOptions().getDiscardStrategy());
+	}
+
+	private static Hand hand(HandMode mode, int preferred, int... values) {
+		Hand hand = mode.create(preferred);
+		for (int v : values) hand.add(v);
+		return hand;
+	}
+
+	private static void assertCards(Hand hand, int... expected) {
+		int[] actual = new int[hand.size()];
+		for (int i = 0; i < actual.length; i++) actual[i] = hand.get(i);
+		assertArrayEquals(expected, actual, Arrays.toString(actual));
+	}
+}
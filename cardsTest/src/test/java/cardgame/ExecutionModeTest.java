@@ -0,0 +1,39 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ExecutionModeTest {
+
+	@Test
+	void testPlatformThreadRunsTask() throws InterruptedException {
+		// Platform mode is always available and runs the task
+		AtomicBoolean ran = new AtomicBoolean();
+		Thread t = ExecutionMode.PLATFORM.newThread(() -> ran.set(true));
+		t.start();
+		t.join();
+		assertTrue(ran.get());
+	}
+
+	@Test
+	void testVirtualMatchesRuntimeSupport() throws InterruptedException {
+		// Virtual mode works on Java 21+ and is rejected up front elsewhere
+		if (Runtime.version().feature() >= 21) {
+			assertTrue(ExecutionMode.VIRTUAL.isSupported());
+			AtomicBoolean ran = new AtomicBoolean();
+			Thread t = ExecutionMode.VIRTUAL.newThread(() -> ran.set(true));
+			t.start();
+			t.join();
+			assertTrue(ran.get());
+		} else {
+			assertFalse(ExecutionMode.VIRTUAL.isSupported());
+			assertThrows(IllegalArgumentException.class,
+					() -> new GameOptions().setExecutionMode(ExecutionMode.VIRTUAL));
+			assertThrows(IllegalStateException.class,
+					() -> ExecutionMode.VIRTUAL.newThread(() -> { }));
+		}
+	}
+}
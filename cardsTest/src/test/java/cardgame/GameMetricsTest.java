@@ -0,0 +1,78 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+	private static final int NUM_PLAYERS = 4;
+
+	@TempDir
+	Path outputDir;
+
+	@Test
+	void testMetricsPublishedOverJmx() throws Exception {
+		GameSession session = new GameSession();
+		Deck[] decks = new Deck[NUM_PLAYERS];
+		for (int i = 0; i < NUM_PLAYERS; i++) decks[i] = new Deck(i + 1, 8, session);
+		session.setDecks(decks);
+
+		TextLogSink sink = new TextLogSink(outputDir);
+		Player[] players = new Player[NUM_PLAYERS];
+		for (int i = 0; i < NUM_PLAYERS; i++) {
+			players[i] = new Player(i + 1, decks[i], decks[(i + 1) % NUM_PLAYERS], sink, session);
+		}
+
+		// Deal as the game does: hands first, then decks, round-robin
+		int[] pack = PackReader.readPackValues("src/main/resources/4players.txt", NUM_PLAYERS);
+		for (int i = 0; i < pack.length; i++) {
+			if (i < 4 * NUM_PLAYERS) players[i % NUM_PLAYERS].addValue(pack[i]);
+			else decks[i % NUM_PLAYERS].addValue(pack[i]);
+		}
+
+		GameMetrics metrics = GameMetrics.register(session, players, decks);
+		ObjectName name = metrics.getObjectName();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertTrue(server.isRegistered(name), "MBean should be registered while the game runs");
+		assertEquals(Boolean.FALSE, server.getAttribute(name, "Finished"));
+		assertEquals(-1L, server.getAttribute(name, "TimeToWinMillis"));
+
+		SimulationEngine.play(players, 3L);
+
+		// Values read through JMX agree with each other and with the game
+		long total = (Long) server.getAttribute(name, "TotalTurns");
+		long[] perPlayer = (long[]) server.getAttribute(name, "TurnsPerPlayer");
+		assertTrue(total > 0, "Players should have taken turns");
+		assertEquals(total, Arrays.stream(perPlayer).sum());
+		assertEquals(session.getWinnerId(), server.getAttribute(name, "WinnerId"));
+		assertTrue((Long) server.getAttribute(name, "TimeToWinMillis") >= 0);
+
+		int[] depths = (int[]) server.getAttribute(name, "DeckDepths");
+		int[] maxDepths = (int[]) server.getAttribute(name, "MaxDeckDepths");
+		assertEquals(4 * NUM_PLAYERS, Arrays.stream(depths).sum(), "Cards in decks are conserved");
+		for (int i = 0; i < NUM_PLAYERS; i++) {
+			assertTrue(maxDepths[i] >= depths[i]);
+		}
+
+		metrics.unregister();
+		sink.close();
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	void testMetricsOptionKeepsOutcome() {
+		// Metrics option must not change the outcome of a real game
+		GameOptions options = new GameOptions().setMetrics(true).setOutputDir(outputDir);
+		int winner = CardGame.playGame(new GameSession(), 2, new int[]{1, 3, 1, 4, 1, 5, 1, 6, 0, 7, 8, 9, 10, 11, 12, 13}, options);
+		assertEquals(1, winner);
+	}
+}
@@ -0,0 +1,104 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReportTest {
+
+	private static final String PACK = "src/main/resources/4players.txt";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void testReportMatchesGame() throws IOException {
+		int[] pack = PackReader.readPackValues(PACK, 4);
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(3L).setOutputDir(dir);
+		GameReport report = CardGame.playGameWithReport(new GameSession(), 4, pack, options);
+
+		// Every turn is logged as a draw/discard pair in the player files
+		long loggedTurns = 0;
+		for (int i = 1; i <= 4; i++) {
+			loggedTurns += Files.readAllLines(dir.resolve(PlayerLogFormat.fileName(i))).stream()
+					.filter(line -> line.contains(" draws a ")).count();
+		}
+		assertEquals(loggedTurns, report.getTotalTurns());
+		assertTrue(report.getTotalTurns() > 0);
+		assertEquals(CardGame.playGame(new GameSession(), 4, pack, options.copy().setOutputDir(dir.resolve("again"))),
+				report.getWinnerId());
+
+		// Four cards per deck are dealt, so no deck can peak below that
+		assertTrue(report.getPeakDeckDepth() >= 4);
+		assertEquals(0, report.getPackLoadNanos());
+		assertTrue(report.getDealNanos() > 0 && report.getPlayNanos() > 0 && report.getOutputNanos() > 0);
+		assertEquals(report.getDealNanos() + report.getPlayNanos() + report.getOutputNanos(), report.getTotalNanos());
+	}
+
+	@Test
+	void testFormats() {
+		GameReport report = new GameReport(2, Engine.COOPERATIVE, LogMode.ASYNC, 1, 10, 5, 1, 2, 3, 4);
+
+		assertEquals("{\"players\":2,\"engine\":\"cooperative\",\"log\":\"async\",\"winner\":1,\"totalTurns\":10,"
+				+ "\"peakDeckDepth\":5,\"packLoadNanos\":1,\"dealNanos\":2,\"playNanos\":3,\"outputNanos\":4,"
+				+ "\"totalNanos\":10}", report.toJson());
+
+		// Header and row have the same number of columns
+		String[] header = GameReport.CSV_HEADER.split(",");
+		String[] row = report.toCsv().split(",");
+		assertEquals(header.length, row.length);
+		assertEquals("2,cooperative,async,1,10,5,1,2,3,4,10", report.toCsv());
+		assertEquals(GameReport.CSV_HEADER + System.lineSeparator() + report.toCsv() + System.lineSeparator(),
+				ReportFormat.CSV.format(report));
+		assertEquals(report.toCsv() + System.lineSeparator(), ReportFormat.CSV_ROW.format(report));
+	}
+
+	@Test
+	void testHeadlessRunPrintsSummary() {
+		PrintStream out = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured));
+		try {
+			CardGame.main(new String[]{"4", PACK, dir.toString(), "cooperative", "async", "csv"});
+		} finally {
+			System.setOut(out);
+		}
+
+		// Standard output holds only the summary, without the winner's console message
+		String[] lines = captured.toString().split("\\R");
+		assertEquals(2, lines.length, captured.toString());
+		assertEquals(GameReport.CSV_HEADER, lines[0]);
+		String[] row = lines[1].split(",");
+		assertEquals("4", row[0]);
+		assertEquals("cooperative", row[1]);
+		assertEquals("async", row[2]);
+		assertEquals(String.valueOf(CardGame.getWinnerId()), row[3]);
+		assertTrue(Long.parseLong(row[6]) > 0, "Pack load is timed");
+		assertTrue(Files.exists(dir.resolve("deck1_output.txt")));
+	}
+
+	@Test
+	void testHeadlessRunAppendsCsvRow() {
+		PrintStream out = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured));
+		try {
+			CardGame.main(new String[]{"4", PACK, dir.toString(), "simulated", "binary", "csv_row"});
+		} finally {
+			System.setOut(out);
+		}
+
+		// One row to append to an existing results file
+		String[] lines = captured.toString().split("\\R");
+		assertEquals(1, lines.length, captured.toString());
+		assertEquals(GameReport.CSV_HEADER.split(",").length, lines[0].split(",").length);
+		assertTrue(lines[0].startsWith("4,simulated,binary,"), lines[0]);
+	}
+}
@@ -0,0 +1,111 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+
+	@Test
+	void testOnlyOneWinner() throws InterruptedException {
+		// Many players declaring at once: exactly one CAS succeeds
+		GameSession session = new GameSession();
+		AtomicInteger successes = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[16];
+		for (int i = 0; i < threads.length; i++) {
+			int id = i + 1;
+			threads[i] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (session.tryDeclareWin(id)) successes.incrementAndGet();
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (Thread t : threads) t.join();
+
+		assertEquals(1, successes.get());
+		assertTrue(session.isGameWon());
+		assertTrue(session.getWinnerId() >= 1 && session.getWinnerId() <= threads.length);
+		assertFalse(session.endGame(), "A won game cannot be ended again");
+	}
+
+	@Test
+	void testEndWakesBlockedPlayers() throws InterruptedException {
+		// Players blocked on empty decks of either kind return once the game ends
+		GameSession session = new GameSession();
+		Deck locking = new Deck(1, 8, session);
+		Deck spsc = new SpscDeck(2, 8, session);
+		Deck idle = new Deck(3, 8, session);
+		session.setDecks(new Deck[]{locking, spsc, idle});
+
+		Thread[] waiters = {waitOn(locking), waitOn(spsc)};
+		for (Deck d : new Deck[]{locking, spsc}) {
+			while (!d.hasWaiter()) Thread.sleep(1);
+		}
+		assertFalse(idle.hasWaiter(), "Nobody waits on the idle deck");
+
+		assertTrue(session.endGame());
+		for (Thread t : waiters) {
+			t.join(2000);
+			assertFalse(t.isAlive(), "Waiter should be woken by the end of the game");
+		}
+		assertEquals(-1, session.getWinnerId());
+	}
+
+	@Test
+	void testShutdownTime() {
+		// Measured from the end of the game to the last recorded exit
+		GameSession session = new GameSession();
+		assertEquals(-1, session.getShutdownNanos(), "Not ended yet");
+
+		session.tryDeclareWin(2);
+		session.recordExit();
+		assertTrue(session.getShutdownNanos() >= 0);
+	}
+
+	@Test
+	void testEndTimeVisibleWithOutcome() throws InterruptedException {
+		// A reader that sees the game has ended also sees when, even while the end is racing
+		for (int i = 0; i < 200; i++) {
+			GameSession session = new GameSession();
+			long before = System.nanoTime();
+			Thread ender = new Thread(session::endGame);
+			ender.start();
+			while (!session.isGameWon()) Thread.onSpinWait();
+			long end = session.getEndNanos();
+			ender.join();
+
+			assertTrue(end >= before, "End time published with the outcome");
+			assertTrue(session.getShutdownNanos() < 1_000_000_000L, "No exit yet, so no bogus shutdown time");
+		}
+
+		// End listeners run once, by whoever ends the game
+		GameSession session = new GameSession();
+		AtomicInteger runs = new AtomicInteger();
+		session.setEndListener(runs::incrementAndGet);
+		assertEquals(-1, session.getEndNanos(), "Not ended yet");
+		session.tryDeclareWin(1);
+		session.endGame();
+		assertEquals(1, runs.get());
+	}
+
+	private static Thread waitOn(Deck deck) {
+		Thread t = new Thread(() -> {
+			try {
+				deck.awaitCardOrGameEnd();
+			} catch (InterruptedException ignored) {
+				// Test fails on the liveness check instead
+			}
+		});
+		t.start();
+		return t;
+	}
+}
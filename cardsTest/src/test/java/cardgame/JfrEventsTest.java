@@ -0,0 +1,108 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+
+	private static final int NUM_PLAYERS = 4;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void testGameEmitsEvents() throws Exception {
+		int[] pack = PackReader.readPackValues("src/main/resources/4players.txt", NUM_PLAYERS);
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(3L).setOutputDir(dir.resolve("game"));
+
+		int winner;
+		List<RecordedEvent> events;
+		try (Recording recording = startRecording()) {
+			winner = CardGame.playGame(new GameSession(), NUM_PLAYERS, pack, options);
+			events = dump(recording);
+		}
+
+		// One win for the winning player, and at least one turn by every player
+		List<RecordedEvent> wins = ofType(events, "cardgame.Win");
+		assertEquals(1, wins.size());
+		assertEquals(winner, wins.get(0).getInt("playerId"));
+
+		List<RecordedEvent> turns = ofType(events, "cardgame.Turn");
+		for (int id = 1; id <= NUM_PLAYERS; id++) {
+			int player = id;
+			assertTrue(turns.stream().anyMatch(e -> e.getInt("playerId") == player), "player " + id + " turns");
+		}
+		for (RecordedEvent turn : turns) {
+			assertEquals(turn.getInt("playerId"), turn.getInt("fromDeck"), "Draws from its own left deck");
+			assertTrue(turn.getLong("lockWait") >= 0);
+		}
+	}
+
+	@Test
+	void testDeckWaitRecordsEmptyDeck() throws Exception {
+		GameSession session = new GameSession();
+		Deck deck = new Deck(1, 8, session);
+		session.setDecks(new Deck[]{deck});
+
+		try (Recording recording = startRecording()) {
+			Thread waiter = new Thread(() -> {
+				try {
+					deck.awaitCardOrGameEnd();
+				} catch (InterruptedException ignored) {
+					// Test fails on the event check instead
+				}
+			});
+			waiter.start();
+			while (!deck.hasWaiter()) Thread.sleep(1);
+			session.endGame();
+			waiter.join(2000);
+
+			// A wait on an empty deck ended by the end of the game
+			List<RecordedEvent> waits = ofType(dump(recording), "cardgame.DeckWait");
+			assertEquals(1, waits.size());
+			assertEquals(1, waits.get(0).getInt("deckId"));
+			assertTrue(waits.get(0).getBoolean("gameEnded"));
+		}
+	}
+
+	@Test
+	void testSettingsFileEnablesEvents() throws IOException, ParseException {
+		// The shipped settings file must name every event
+		Configuration config = Configuration.create(Path.of("src/main/resources/cardgame.jfc"));
+		for (String name : new String[]{"cardgame.Turn", "cardgame.DeckWait", "cardgame.Win"}) {
+			assertEquals("true", config.getSettings().get(name + "#enabled"), name);
+		}
+	}
+
+	private static Recording startRecording() {
+		Recording recording = new Recording();
+		recording.enable("cardgame.Turn").withoutThreshold();
+		recording.enable("cardgame.DeckWait").withoutThreshold();
+		recording.enable("cardgame.Win");
+		recording.start();
+		return recording;
+	}
+
+	private List<RecordedEvent> dump(Recording recording) throws IOException {
+		recording.stop();
+		Path file = dir.resolve("recording.jfr");
+		recording.dump(file);
+		return RecordingFile.readAllEvents(file);
+	}
+
+	private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+		return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+	}
+}
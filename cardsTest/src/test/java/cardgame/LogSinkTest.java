@@ -0,0 +1,116 @@
+package cardgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class LogSinkTest {
+
+	private static final Path OUTPUT = Path.of(PlayerLogFormat.fileName(1));
+	private static final Path BINARY = Path.of(PlayerLogFormat.binaryFileName(1));
+
+	@AfterEach
+	void cleanEnvironment() throws IOException {
+		Files.deleteIfExists(OUTPUT);
+		Files.deleteIfExists(BINARY);
+	}
+
+	// Writes a short but complete player log through the given sink,
+	// replaying the standard discard policy for player 1
+	private static void writeSampleLog(LogSink sink) throws IOException {
+		Hand hand = new SlotHand(1);
+		for (int v = 1; v <= 4; v++) {
+			hand.add(v);
+		}
+		try (PlayerLog log = sink.open(1)) {
+			log.initialHand(hand);
+			for (int i = 0; i < 10; i++) {
+				int drawn = i % 3;
+				hand.add(drawn);
+				int discarded = hand.discard();
+				log.turn(drawn, 1, discarded, 2, hand);
+			}
+			log.informed(3);
+			log.exits();
+			log.finalHand(false, hand);
+		}
+		sink.close();
+	}
+
+	@Test
+	void testTextLogLines() throws IOException {
+		// Text sink writes the documented line format
+		writeSampleLog(new TextLogSink());
+
+		var lines = Files.readAllLines(OUTPUT);
+		assertEquals("player 1 initial hand 1 2 3 4", lines.get(0));
+		assertEquals("player 1 draws a 0 from deck 1", lines.get(1));
+		assertEquals("player 1 discards a 2 to deck 2", lines.get(2));
+		assertEquals("player 1 current hand is 1 3 4 0", lines.get(3));
+		assertEquals("player 3 has informed player 1 that player 3 has won", lines.get(31));
+		assertEquals("player 1 exits", lines.get(32));
+		assertEquals("player 1 hand: 1 1 1 1", lines.get(33));
+	}
+
+	@Test
+	void testAsyncMatchesText() throws IOException {
+		// Async sink with small batches must produce byte-identical output
+		writeSampleLog(new TextLogSink());
+		byte[] expected = Files.readAllBytes(OUTPUT);
+		Files.delete(OUTPUT);
+
+		writeSampleLog(new AsyncLogSink(3, 0, 2));
+		assertArrayEquals(expected, Files.readAllBytes(OUTPUT));
+	}
+
+	@Test
+	void testAsyncTimedFlushMatchesText() throws IOException {
+		// Time-based flush policy must not change the output either
+		writeSampleLog(new TextLogSink());
+		byte[] expected = Files.readAllBytes(OUTPUT);
+		Files.delete(OUTPUT);
+
+		writeSampleLog(new AsyncLogSink(1000, 1, 4));
+		assertArrayEquals(expected, Files.readAllBytes(OUTPUT));
+	}
+
+	@Test
+	void testAsyncAgedBatchWrittenWhilePlayerBlocked() throws Exception {
+		// One record and then silence, as from a player blocked on its deck: the writer flushes it
+		AsyncLogSink sink = new AsyncLogSink(1000, 20, 4);
+		Hand hand = new SlotHand(1);
+		for (int v = 1; v <= 4; v++) hand.add(v);
+		PlayerLog log = sink.open(1);
+		log.initialHand(hand);
+
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (Files.size(OUTPUT) == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+		assertEquals("player 1 initial hand 1 2 3 4" + System.lineSeparator(), Files.readString(OUTPUT));
+
+		// Later records still follow in order
+		log.exits();
+		log.close();
+		sink.close();
+		assertEquals(2, Files.readAllLines(OUTPUT).size());
+	}
+
+	@Test
+	void testBinaryDecodesToText() throws IOException {
+		// Binary events decoded afterwards must reproduce the text log exactly
+		writeSampleLog(new TextLogSink());
+		byte[] expected = Files.readAllBytes(OUTPUT);
+		Files.delete(OUTPUT);
+
+		writeSampleLog(new BinaryLogSink());
+		assertEquals(0, Files.size(BINARY) % BinaryLogSink.RECORD_BYTES);
+		assertFalse(Files.exists(OUTPUT), "Binary mode should not write text");
+
+		EventLogDecoder.decodeFile(BINARY);
+		assertArrayEquals(expected, Files.readAllBytes(OUTPUT));
+	}
+}
@@ -0,0 +1,111 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackAnalyzerTest {
+
+	@Test
+	void testNoValueFourTimes() {
+		// Every value at most three times: nobody can ever hold a set
+		int[] pack = {0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3};
+		PackAnalyzer.Result result = PackAnalyzer.analyze(pack, 2);
+
+		assertEquals(PackAnalyzer.Verdict.NEVER_TERMINATES, result.getVerdict());
+		assertEquals(3, result.getMaxCopies());
+		assertEquals(-1, result.getEstimatedTurns());
+		assertThrows(IllegalArgumentException.class, () -> PackAnalyzer.check(pack, 2));
+	}
+
+	@Test
+	void testOnlyUnpreferredSets() {
+		// Four 9s but no player's own value four times; hands are 9 0 5 6 and 3 9 9 4
+		int[] pack = {9, 3, 0, 9, 5, 9, 6, 4, 7, 8, 10, 11, 12, 13, 9, 14};
+		PackAnalyzer.Result result = PackAnalyzer.check(pack, 2);
+
+		assertEquals(PackAnalyzer.Verdict.MAY_NOT_TERMINATE, result.getVerdict());
+		assertEquals(4, result.getMaxCopies());
+		assertEquals(-1, result.getLikelyWinner());
+	}
+
+	@Test
+	void testWinAtDeal() {
+		// Player 1 is dealt the four 1s
+		int[] pack = {1, 3, 1, 4, 1, 5, 1, 6, 0, 7, 8, 9, 10, 11, 12, 13};
+		PackAnalyzer.Result result = PackAnalyzer.check(pack, 2);
+
+		assertEquals(PackAnalyzer.Verdict.WINS_AT_DEAL, result.getVerdict());
+		assertEquals(1, result.getLikelyWinner());
+		assertEquals(0, result.getEstimatedTurns());
+	}
+
+	@Test
+	void testNearestCopiesDecideWinner() {
+		// Player 2 holds three 2s and the fourth is on top of its deck; player 1's 1s are all far away
+		int[] pack = {0, 2, 3, 2, 4, 2, 5, 6, 7, 2, 8, 1, 9, 1, 1, 1};
+		PackAnalyzer.Result result = PackAnalyzer.analyze(pack, 2);
+
+		assertEquals(PackAnalyzer.Verdict.TERMINATES, result.getVerdict());
+		assertEquals(2, result.getCandidates());
+		assertEquals(2, result.getLikelyWinner());
+		assertEquals(1, result.getEstimatedRounds(), "One draw from its own deck");
+	}
+
+	@Test
+	void testOtherStrategiesGetNoEstimate() throws IOException {
+		// A pack that terminates for the default strategy may livelock under the others
+		int[] pack = PackReader.readPackValues("src/main/resources/4players.txt", 4);
+		assertEquals(PackAnalyzer.Verdict.TERMINATES,
+				PackAnalyzer.analyze(pack, 4, DiscardMode.FIRST_NON_PREFERRED).getVerdict());
+
+		for (DiscardMode discard : new DiscardMode[]{DiscardMode.MOST_FREQUENT, DiscardMode.MAJORITY}) {
+			PackAnalyzer.Result result = PackAnalyzer.check(pack, 4, discard);
+			assertEquals(PackAnalyzer.Verdict.MAY_NOT_TERMINATE, result.getVerdict());
+			assertEquals(-1, result.getLikelyWinner());
+			assertEquals(-1, result.getEstimatedTurns());
+			assertTrue(result.describe().contains(discard.name()), result.describe());
+		}
+
+		// Nobody can ever win whatever the strategy
+		int[] hopeless = {0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3};
+		assertThrows(IllegalArgumentException.class, () -> PackAnalyzer.check(hopeless, 2, DiscardMode.MAJORITY));
+	}
+
+	@Test
+	void testParallelTallyMatchesSequential() {
+		// Large random pack with values above the player count; chunked tallies must merge exactly
+		int numPlayers = 20_000;
+		SplittableRandom random = new SplittableRandom(3);
+		int[] pack = random.ints(8 * numPlayers, 0, 3 * numPlayers).toArray();
+
+		PackAnalyzer.Result one = PackAnalyzer.analyze(pack, numPlayers, 1);
+		PackAnalyzer.Result many = PackAnalyzer.analyze(pack, numPlayers, 7);
+		assertEquals(one.getVerdict(), many.getVerdict());
+		assertEquals(one.getMaxCopies(), many.getMaxCopies());
+		assertEquals(one.getCandidates(), many.getCandidates());
+		assertEquals(one.getLikelyWinner(), many.getLikelyWinner());
+		assertEquals(one.getEstimatedRounds(), many.getEstimatedRounds());
+	}
+
+	@Test
+	void testEstimateTracksSimulatedGames(@TempDir Path dir) throws IOException {
+		// Over several shuffled uniform packs the estimate is within a factor of two of real play
+		long estimated = 0;
+		long played = 0;
+		for (int seed = 0; seed < 5; seed++) {
+			int[] pack = TournamentRunner.shuffled(TournamentRunner.uniformPack(50), seed);
+			estimated += PackAnalyzer.analyze(pack, 50).getEstimatedTurns();
+			GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed((long) seed)
+					.setLogMode(LogMode.BINARY).setOutputDir(dir);
+			played += CardGame.playGameWithReport(new GameSession(), 50, pack, options).getTotalTurns();
+		}
+		double ratio = (double) played / estimated;
+		assertTrue(ratio > 0.5 && ratio < 2, "played/estimated = " + ratio);
+	}
+}
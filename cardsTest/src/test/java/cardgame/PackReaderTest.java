@@ -2,10 +2,12 @@ package cardgame;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 import java.nio.file.*;
 import java.io.*;
+import java.util.ArrayList;
 import java.util.List;
 
 class PackReaderTest {
@@ -68,4 +70,125 @@ class PackReaderTest {
 			PackReader.readPack(packFile.toString(), 2)
 		);
 	}
+
+	@Test
+	void testReadPackValuesLineEndingsAndWhitespace() throws IOException {
+		// CRLF, bare CR, blank lines and padding are all accepted
+		Path packFile = createTempPackFile(" 1\r\n2\r\n\n\t3 \r4\n+5\n6\n7\n8");
+
+		int[] values = PackReader.readPackValues(packFile.toString(), 1);
+
+		assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, values);
+	}
+
+	@Test
+	void testReadPackErrorMessages() throws IOException {
+		// Error messages report the original line numbers and text
+		Path nonInteger = createTempPackFile("0\n\n 1 2 \n");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(nonInteger.toString(), 1)
+		);
+		assertEquals("Non-integer at line 3: '1 2'", e.getMessage());
+
+		Path negative = createTempPackFile("0\n-7\n");
+		e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(negative.toString(), 1)
+		);
+		assertEquals("Negative value at line 2: -7", e.getMessage());
+
+		Path overflow = createTempPackFile("2147483648\n");
+		e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(overflow.toString(), 1)
+		);
+		assertEquals("Non-integer at line 1: '2147483648'", e.getMessage());
+
+		Path tooLong = createTempPackFile("1\n2\n3\n4\n5\n6\n7\n8\n9\n");
+		e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(tooLong.toString(), 1)
+		);
+		assertEquals("Pack must contain exactly 8 integers. Found: 9", e.getMessage());
+	}
+
+	@Test
+	void testReadPackMissingFile() {
+		// Missing file is reported as FileNotFoundException
+		assertThrows(FileNotFoundException.class, () ->
+			PackReader.readPackValues("no_such_pack_file.txt", 1)
+		);
+	}
+
+	@Test
+	void testReadPackHugePlayerCount() {
+		// Nothing is allocated for the players before the file is seen to be far too small
+		String path = "src/main/resources/4players.txt";
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(path, 300_000_000)
+		);
+		assertEquals("Pack must contain exactly 2400000000 integers. Found: 32", e.getMessage());
+
+		e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.readPackValues(path, 100_000_000)
+		);
+		assertEquals("Pack must contain exactly 800000000 integers. Found: 32", e.getMessage());
+	}
+
+	@Test
+	void testStreamPackValues() throws IOException {
+		// Cards arrive in file order; extra cards are counted but never handed over
+		Path packFile = createTempPackFile("5\n\n6\r\n7\n8\n9\n10\n11\n12\n13\n14\n");
+		List<Integer> seen = new ArrayList<>();
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+			PackReader.streamPackValues(packFile.toString(), 1, seen::add)
+		);
+		assertEquals("Pack must contain exactly 8 integers. Found: 10", e.getMessage());
+		assertEquals(List.of(5, 6, 7, 8, 9, 10, 11, 12), seen);
+	}
+
+	@Test
+	void testStreamedGameMatchesLoadedPack(@TempDir Path dir) throws IOException {
+		// Dealing while parsing must give exactly the same game as dealing a loaded pack
+		String path = "src/main/resources/8players.txt";
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(2L);
+
+		GameReport loaded = CardGame.playGameWithReport(new GameSession(), 8,
+				PackReader.readPackValues(path, 8), options.copy().setOutputDir(dir.resolve("loaded")));
+		GameReport streamed = CardGame.playGameWithReport(new GameSession(), 8,
+				Path.of(path), options.copy().setOutputDir(dir.resolve("streamed")));
+
+		assertEquals(loaded.getWinnerId(), streamed.getWinnerId());
+		assertEquals(loaded.getTotalTurns(), streamed.getTotalTurns());
+		for (int i = 1; i <= 8; i++) {
+			for (String name : new String[]{PlayerLogFormat.fileName(i), DeckOutputWriter.fileName(i)}) {
+				assertEquals(Files.readString(dir.resolve("loaded").resolve(name)),
+						Files.readString(dir.resolve("streamed").resolve(name)), name);
+			}
+		}
+	}
+
+	@Test
+	void testStreamedGameRejectsShortPack(@TempDir Path dir) throws IOException {
+		// An invalid pack fails before any player log is opened
+		Path packFile = createTempPackFile("1\n2\n3\n");
+		GameOptions options = new GameOptions().setOutputDir(dir);
+
+		assertThrows(IllegalArgumentException.class, () ->
+			CardGame.playGameWithReport(new GameSession(), 1, packFile, options)
+		);
+		assertFalse(Files.exists(dir.resolve(PlayerLogFormat.fileName(1))));
+	}
+
+	@Test
+	void testStreamedGameHugePlayerCount(@TempDir Path dir) {
+		// The file is checked before any deck or hand buffer is built for the players
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+			CardGame.playGameWithReport(new GameSession(), 300_000_000, Path.of("src/main/resources/4players.txt"),
+					new GameOptions().setOutputDir(dir))
+		);
+		assertEquals("Pack must contain exactly 2400000000 integers. Found: 32", e.getMessage());
+		assertThrows(FileNotFoundException.class, () ->
+			CardGame.playGameWithReport(new GameSession(), 300_000_000, dir.resolve("missing.txt"),
+					new GameOptions().setOutputDir(dir))
+		);
+	}
 }
@@ -0,0 +1,120 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedHandTest {
+
+	@Test
+	void testMatchesSlotHand() {
+		// Packed and slot hands must agree on every discard, hand and win check
+		SplittableRandom random = new SplittableRandom(7);
+		for (int game = 0; game < 300; game++) {
+			int preferred = random.nextInt(5);
+			int range = game % 2 == 0 ? 5 : PackedHand.MAX_VALUE + 1;
+			Hand packed = new PackedHand(preferred);
+			Hand slots = new SlotHand(preferred);
+			for (int i = 0; i < 4; i++) {
+				int v = random.nextInt(range);
+				packed.add(v);
+				slots.add(v);
+			}
+
+			for (int turn = 0; turn < 50; turn++) {
+				assertEquals(slots.isWinning(), packed.isWinning());
+				int drawn = random.nextInt(range);
+				packed.add(drawn);
+				slots.add(drawn);
+				assertSameCards(slots, packed);
+
+				assertEquals(slots.discard(), packed.discard());
+				assertSameCards(slots, packed);
+			}
+		}
+	}
+
+	@Test
+	void testRemoveMatchesSlotHand() {
+		// Removing any slot, including the drawn card, leaves the same cards in the same order
+		SplittableRandom random = new SplittableRandom(11);
+		Hand packed = new PackedHand(1);
+		Hand slots = new SlotHand(1);
+		for (int i = 0; i < 4; i++) {
+			packed.add(i);
+			slots.add(i);
+		}
+		for (int turn = 0; turn < 200; turn++) {
+			int drawn = random.nextInt(6);
+			packed.add(drawn);
+			slots.add(drawn);
+			int slot = random.nextInt(5);
+			assertEquals(slots.remove(slot), packed.remove(slot));
+			assertSameCards(slots, packed);
+			assertEquals(slots.isWinning(), packed.isWinning());
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> packed.remove(4));
+		assertThrows(IndexOutOfBoundsException.class, () -> slots.remove(4));
+	}
+
+	@Test
+	void testWinningHands() {
+		// Replicated first lane matches only when all four lanes are equal
+		Hand top = new PackedHand(1);
+		for (int i = 0; i < 4; i++) top.add(PackedHand.MAX_VALUE);
+		assertTrue(top.isWinning());
+
+		Hand mixed = new PackedHand(3);
+		mixed.add(3);
+		mixed.add(3);
+		mixed.add(3);
+		mixed.add(0);
+		assertFalse(mixed.isWinning());
+	}
+
+	@Test
+	void testPreferredValueTooLargeForLane() {
+		// A player ID above the lane width can never match a card: discard slot 0
+		Hand hand = new PackedHand(PackedHand.MAX_VALUE + 1);
+		for (int v = 1; v <= 5; v++) hand.add(v);
+		assertEquals(1, hand.discard());
+		assertEquals(2, hand.get(0));
+		assertEquals(5, hand.get(3));
+	}
+
+	@Test
+	void testRejectsValuesOutsideLane() {
+		Hand hand = new PackedHand(1);
+		assertThrows(IllegalArgumentException.class, () -> hand.add(PackedHand.MAX_VALUE + 1));
+		for (int i = 0; i < 5; i++) hand.add(i);
+		assertThrows(IllegalStateException.class, () -> hand.add(1));
+	}
+
+	@Test
+	void testGameOutputMatchesSlotHands(@TempDir Path dir) throws IOException {
+		// A seeded simulated game must log exactly the same with either hand
+		int[] pack = PackReader.readPackValues("src/main/resources/8players.txt", 8);
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(5L);
+
+		CardGame.playGame(new GameSession(), 8, pack, options.copy().setOutputDir(dir.resolve("slot")));
+		CardGame.playGame(new GameSession(), 8, pack, options.copy().setHandMode(HandMode.PACKED).setOutputDir(dir.resolve("packed")));
+
+		for (int i = 1; i <= 8; i++) {
+			String name = PlayerLogFormat.fileName(i);
+			assertEquals(Files.readString(dir.resolve("slot").resolve(name)), Files.readString(dir.resolve("packed").resolve(name)), name);
+		}
+	}
+
+	private static void assertSameCards(Hand expected, Hand actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), actual.get(i), "slot " + i);
+		}
+	}
+}
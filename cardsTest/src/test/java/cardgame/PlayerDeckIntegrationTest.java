@@ -87,4 +87,45 @@ class PlayerDeckIntegrationTest {
         int winner = CardGame.getWinnerId();
         assertTrue(winner == 1 || winner == 2, "Winner must be player 1 or 2");
     }
+
+    @Test
+    void testLockFreeDeckGame() throws Exception {
+        // Same game flow using the lock-free SPSC decks
+        Path packFile = Files.createTempFile("pack", ".txt");
+        ArrayList<String> lines = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lines.add("0"); lines.add("1"); lines.add("2"); lines.add("3");
+        }
+        Files.write(packFile, lines);
+
+        String input = NUM_PLAYERS + "\n" + packFile.toAbsolutePath() + "\n";
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        System.setProperty(GameOptions.DECK_PROPERTY, "spsc");
+
+        try {
+            CardGame.main(new String[0]);
+        } finally {
+            System.clearProperty(GameOptions.DECK_PROPERTY);
+        }
+
+        assertTrue(CardGame.isGameWon(), "Game should have a winner");
+        int winner = CardGame.getWinnerId();
+        assertTrue(winner == 1 || winner == 2, "Winner must be player 1 or 2");
+    }
+
+    @Test
+    void testCooperativeEngineGame() throws Exception {
+        // Same rules on the worker-pool engine: one winner, every player exits
+        int[] pack = {0, 1, 2, 3, 0, 1, 2, 3, 0, 1, 2, 3, 0, 1, 2, 3};
+        GameOptions options = new GameOptions().setEngine(Engine.COOPERATIVE).setWorkers(2);
+
+        int winner = CardGame.playGame(NUM_PLAYERS, pack, options);
+
+        assertTrue(winner == 1 || winner == 2, "Winner must be player 1 or 2");
+        for (int i = 1; i <= NUM_PLAYERS; i++) {
+            var lines = Files.readAllLines(Path.of("player" + i + "_output.txt"));
+            assertTrue(lines.get(0).startsWith("player " + i + " initial hand"));
+            assertTrue(lines.contains("player " + i + " exits"), "Player " + i + " should exit");
+        }
+    }
 }
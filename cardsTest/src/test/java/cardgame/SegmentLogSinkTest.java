@@ -0,0 +1,88 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogSinkTest {
+
+	private static final int NUM_PLAYERS = 20;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void testExtractedFilesMatchTextGame() throws IOException {
+		// The same seeded game, written as separate files and as three segments
+		int[] pack = PackReader.readPackValues("src/main/resources/20players.txt", NUM_PLAYERS);
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(11L);
+		Path text = dir.resolve("text");
+		Path segmented = dir.resolve("segmented");
+		CardGame.playGame(new GameSession(), NUM_PLAYERS, pack, options.copy().setOutputDir(text));
+		CardGame.playGame(new GameSession(), NUM_PLAYERS, pack, options.copy().setOutputDir(segmented)
+				.setLogMode(LogMode.SEGMENTED).setLogSegments(3));
+
+		// Three data files and three indexes instead of forty output files
+		try (Stream<Path> files = Files.list(segmented)) {
+			assertEquals(6, files.count());
+		}
+
+		SegmentExtractor extractor = new SegmentExtractor(segmented);
+		assertEquals(2 * NUM_PLAYERS, extractor.names().size());
+		Path extracted = Files.createDirectory(dir.resolve("extracted"));
+		for (int i = 1; i <= NUM_PLAYERS; i++) {
+			for (String name : new String[]{PlayerLogFormat.fileName(i), DeckOutputWriter.fileName(i)}) {
+				Path out = extractor.extractTo(name, extracted);
+				assertArrayEquals(Files.readAllBytes(text.resolve(name)), Files.readAllBytes(out), name);
+			}
+		}
+	}
+
+	@Test
+	void testLongLogIsSplitIntoChunks() throws IOException {
+		// A log far longer than one chunk is reassembled in order
+		StringBuilder expected = new StringBuilder();
+		Hand hand = new SlotHand(1);
+		for (int v = 2; v <= 5; v++) hand.add(v);
+		SegmentLogSink sink = new SegmentLogSink(dir, 2);
+		try (PlayerLog log = sink.open(2)) {
+			for (int turn = 0; turn < 500; turn++) {
+				hand.add(turn);
+				int discarded = hand.discard();
+				log.turn(turn, 2, discarded, 3, hand);
+
+				StringBuilder sb = new StringBuilder();
+				expected.append(PlayerLogFormat.draws(sb, 2, turn, 2)).append(System.lineSeparator());
+				sb.setLength(0);
+				expected.append(PlayerLogFormat.discards(sb, 2, discarded, 3)).append(System.lineSeparator());
+				sb.setLength(0);
+				expected.append(PlayerLogFormat.currentHand(sb, 2, hand)).append(System.lineSeparator());
+			}
+		}
+		sink.close();
+
+		assertTrue(Files.readAllLines(dir.resolve(SegmentLogSink.indexFileName(1))).size() > 1, "Several chunks expected");
+		Path out = new SegmentExtractor(dir).extractTo(PlayerLogFormat.fileName(2), Files.createDirectory(dir.resolve("out")));
+		assertEquals(expected.toString(), Files.readString(out));
+	}
+
+	@Test
+	void testUnknownFile() throws IOException {
+		SegmentLogSink sink = new SegmentLogSink(dir, 4);
+		sink.open(1).close();
+		sink.close();
+
+		// Only the segment of player 1 exists, and it does not hold player 2
+		assertTrue(Files.exists(dir.resolve(SegmentLogSink.indexFileName(0))));
+		assertFalse(Files.exists(dir.resolve(SegmentLogSink.dataFileName(1))));
+		SegmentExtractor extractor = new SegmentExtractor(dir);
+		assertThrows(IllegalArgumentException.class, () -> extractor.extractTo(PlayerLogFormat.fileName(2), dir));
+		assertThrows(IllegalArgumentException.class, () -> new SegmentLogSink(dir, 0));
+	}
+}
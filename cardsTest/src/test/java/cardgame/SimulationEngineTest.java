@@ -0,0 +1,71 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+	private static final int NUM_PLAYERS = 4;
+
+	@TempDir
+	Path outputRoot;
+
+	@Test
+	void testSeededRunsAreIdentical() throws IOException {
+		int[] pack = PackReader.readPackValues("src/main/resources/4players.txt", NUM_PLAYERS);
+
+		int first = play(pack, 42L, outputRoot.resolve("a"));
+		int second = play(pack, 42L, outputRoot.resolve("b"));
+
+		// Same pack and seed must give the same winner and byte-identical output
+		assertEquals(first, second);
+		assertSameOutputs(outputRoot.resolve("a"), outputRoot.resolve("b"));
+	}
+
+	@Test
+	void testRoundRobinRunsAreIdentical() throws IOException {
+		int[] pack = PackReader.readPackValues("src/main/resources/4players.txt", NUM_PLAYERS);
+
+		int first = play(pack, null, outputRoot.resolve("a"));
+		int second = play(pack, null, outputRoot.resolve("b"));
+
+		// Round-robin order needs no seed to be reproducible
+		assertTrue(first >= 1 && first <= NUM_PLAYERS, "Winner must be one of the players");
+		assertEquals(first, second);
+		assertSameOutputs(outputRoot.resolve("a"), outputRoot.resolve("b"));
+	}
+
+	@Test
+	void testMatchesCooperativeGameOnDealWin() throws IOException {
+		// Player 1 wins at the deal, and the cooperative engine logs every hand before any turn
+		int[] pack = new int[8 * NUM_PLAYERS];
+		for (int i = 0; i < pack.length; i++) {
+			pack[i] = i < 16 && i % NUM_PLAYERS == 0 ? 1 : 10 + i;
+		}
+
+		play(pack, 7L, outputRoot.resolve("simulated"));
+		GameOptions cooperative = new GameOptions().setEngine(Engine.COOPERATIVE).setOutputDir(outputRoot.resolve("cooperative"));
+		CardGame.playGame(new GameSession(), NUM_PLAYERS, pack, cooperative);
+
+		assertSameOutputs(outputRoot.resolve("simulated"), outputRoot.resolve("cooperative"));
+	}
+
+	private static int play(int[] pack, Long seed, Path dir) {
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setSeed(seed).setOutputDir(dir);
+		return CardGame.playGame(new GameSession(), NUM_PLAYERS, pack, options);
+	}
+
+	private static void assertSameOutputs(Path expected, Path actual) throws IOException {
+		for (int i = 1; i <= NUM_PLAYERS; i++) {
+			for (String name : new String[]{"player" + i + "_output.txt", "deck" + i + "_output.txt"}) {
+				assertEquals(Files.readString(expected.resolve(name)), Files.readString(actual.resolve(name)), name);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHandTest {
+
+	@Test
+	void testDiscardsFirstNonPreferred() {
+		SlotHand hand = new SlotHand(2);
+		hand.add(2);
+		hand.add(5);
+		hand.add(2);
+		hand.add(7);
+		hand.add(5);
+
+		// Non-preferred cards go in the order they were added; the rest keep their order
+		assertEquals(5, hand.discard());
+		assertHand(hand, 2, 2, 7, 5);
+		assertEquals(7, hand.discard());
+		assertHand(hand, 2, 2, 5);
+	}
+
+	@Test
+	void testDiscardsFirstCardWhenAllPreferred() {
+		SlotHand hand = new SlotHand(4);
+		for (int i = 0; i < 5; i++) hand.add(4);
+
+		assertEquals(4, hand.discard());
+		assertTrue(hand.isWinning(), "Four preferred cards should win");
+	}
+
+	@Test
+	void testWinningHands() {
+		// Four of any value wins, preferred or not
+		SlotHand other = new SlotHand(1);
+		for (int i = 0; i < 4; i++) other.add(9);
+		assertTrue(other.isWinning());
+
+		SlotHand mixed = new SlotHand(1);
+		mixed.add(1);
+		mixed.add(1);
+		mixed.add(1);
+		mixed.add(9);
+		assertFalse(mixed.isWinning());
+
+		SlotHand three = new SlotHand(1);
+		for (int i = 0; i < 3; i++) three.add(1);
+		assertFalse(three.isWinning(), "Three cards cannot win");
+	}
+
+	@Test
+	void testMatchesListBasedHand() {
+		// Random turns must pick the same discards as scanning an ordered list
+		SplittableRandom random = new SplittableRandom(1);
+		for (int game = 0; game < 200; game++) {
+			int preferred = random.nextInt(4);
+			SlotHand hand = new SlotHand(preferred);
+			List<Integer> reference = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				int v = random.nextInt(4);
+				hand.add(v);
+				reference.add(v);
+			}
+
+			for (int turn = 0; turn < 50; turn++) {
+				int drawn = random.nextInt(4);
+				hand.add(drawn);
+				reference.add(drawn);
+
+				int slot = 0;
+				for (int i = 0; i < reference.size(); i++) {
+					if (reference.get(i) != preferred) {
+						slot = i;
+						break;
+					}
+				}
+				assertEquals((int) reference.remove(slot), hand.discard());
+
+				int[] expected = reference.stream().mapToInt(Integer::intValue).toArray();
+				assertHand(hand, expected);
+				assertEquals(reference.stream().distinct().count() == 1, hand.isWinning());
+			}
+		}
+	}
+
+	@Test
+	void testRejectsSixthCard() {
+		SlotHand hand = new SlotHand(1);
+		for (int i = 0; i < SlotHand.SLOTS; i++) hand.add(i);
+		assertThrows(IllegalStateException.class, () -> hand.add(6));
+	}
+
+	private static void assertHand(SlotHand hand, int... expected) {
+		assertEquals(expected.length, hand.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], hand.get(i), "slot " + i);
+		}
+	}
+}
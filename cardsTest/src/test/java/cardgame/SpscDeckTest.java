@@ -0,0 +1,68 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscDeckTest {
+
+	@Test
+	void testFifoAcrossSegmentGrowth() {
+		// Filling past the initial segment must keep FIFO order
+		SpscDeck deck = new SpscDeck(1, 2);
+		for (int i = 0; i < 50; i++) {
+			deck.addValue(i);
+		}
+		assertEquals(50, deck.getValues().length);
+		for (int i = 0; i < 50; i++) {
+			assertEquals(i, deck.pollFirstValue());
+		}
+		assertEquals(Deck.EMPTY, deck.pollFirstValue());
+	}
+
+	@Test
+	void testProducerConsumerHandoff() throws InterruptedException {
+		// One producer and one consumer thread exchange values in order
+		SpscDeck deck = new SpscDeck(1, 4);
+		int count = 100_000;
+		int[] received = new int[count];
+
+		Thread consumer = new Thread(() -> {
+			try {
+				for (int i = 0; i < count; i++) {
+					assertTrue(deck.awaitCardOrGameEnd());
+					received[i] = deck.pollFirstValue();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+		for (int i = 0; i < count; i++) {
+			deck.addValue(i % 1000);
+		}
+		consumer.join(10_000);
+
+		assertFalse(consumer.isAlive(), "Consumer should have drained the deck");
+		for (int i = 0; i < count; i++) {
+			assertEquals(i % 1000, received[i]);
+		}
+		assertEquals(0, deck.getValues().length);
+	}
+
+	@Test
+	void testHasNoLock() {
+		// A lock-free deck refuses to be locked instead of quietly protecting nothing
+		SpscDeck deck = new SpscDeck(3, 4, new GameSession());
+		assertThrows(UnsupportedOperationException.class, deck::lock);
+		assertThrows(UnsupportedOperationException.class, deck::unlock);
+
+		// Its depth statistics still work without the locking deck's storage
+		deck.addValue(1);
+		deck.addValue(2);
+		deck.pollFirstValue();
+		assertEquals(1, deck.size());
+		assertEquals(2, deck.getMaxDepth());
+		assertTrue(deck.isLockFree());
+	}
+}
@@ -0,0 +1,74 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentRunnerTest {
+
+	@TempDir
+	Path outputRoot;
+
+	@Test
+	void testShuffleKeepsCards() {
+		// A shuffle is a permutation of the pack and depends only on the seed
+		int[] pack = TournamentRunner.uniformPack(5);
+		int[] shuffled = TournamentRunner.shuffled(pack, 42);
+
+		assertArrayEquals(TournamentRunner.shuffled(pack, 42), shuffled);
+		assertFalse(Arrays.equals(pack, shuffled));
+		int[] sorted = shuffled.clone();
+		Arrays.sort(sorted);
+		int[] expected = pack.clone();
+		Arrays.sort(expected);
+		assertArrayEquals(expected, sorted);
+	}
+
+	@Test
+	void testSimulatedTournamentAggregates() {
+		GameOptions options = new GameOptions().setEngine(Engine.SIMULATED).setLogMode(LogMode.BINARY);
+		TournamentRunner.Summary summary = TournamentRunner.run(4, TournamentRunner.uniformPack(4), 40, 7,
+				options, outputRoot, 4);
+
+		// Every game of a uniform pack has a winner, counted against exactly one seat
+		assertEquals(40, summary.getGames());
+		assertEquals(0, summary.getNoWinner());
+		assertEquals(40, Arrays.stream(summary.getWinsBySeat()).sum());
+		assertTrue(summary.getTurnsToWinPercentile(50) <= summary.getTurnsToWinPercentile(90));
+		assertTrue(summary.getTurnsToWinPercentile(90) <= summary.getTurnsToWinPercentile(100));
+		assertTrue(summary.getGameNanosPercentile(0) > 0);
+		assertTrue(summary.getGamesPerSecond() > 0);
+		assertTrue(Files.exists(outputRoot.resolve("game40").resolve("player4_output.bin")));
+
+		// Same seed, same shuffles: the simulated games are repeated exactly
+		TournamentRunner.Summary again = TournamentRunner.run(4, TournamentRunner.uniformPack(4), 40, 7,
+				options, outputRoot, 2);
+		assertArrayEquals(summary.getWinsBySeat(), again.getWinsBySeat());
+		assertEquals(summary.getTurnsToWinPercentile(100), again.getTurnsToWinPercentile(100));
+	}
+
+	@Test
+	void testThreadedTournament() {
+		// Player threads of concurrent games share nothing but the pool running the games
+		TournamentRunner.Summary summary = TournamentRunner.run(3, TournamentRunner.uniformPack(3), 12, 1,
+				new GameOptions(), outputRoot, 3);
+
+		assertEquals(12, Arrays.stream(summary.getWinsBySeat()).sum());
+		for (int g = 1; g <= 12; g++) {
+			assertTrue(Files.exists(outputRoot.resolve("game" + g).resolve("player1_output.txt")));
+		}
+	}
+
+	@Test
+	void testPercentileOfNoGames() {
+		// No won games: percentiles are reported as unknown
+		TournamentRunner.Summary summary = new TournamentRunner.Summary(0, new long[2], new long[0], new long[0], 1);
+		assertEquals(-1, summary.getTurnsToWinPercentile(50));
+		assertThrows(IllegalArgumentException.class, () -> summary.getGameNanosPercentile(101));
+	}
+}
@@ -0,0 +1,114 @@
+package cardgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchdogTest {
+
+	// No value occurs four times, so nobody can ever win and the players circulate cards forever
+	private static final int[] ENDLESS_PACK = {1, 2, 3, 4, 5, 6, 1, 2, 3, 4, 5, 6, 1, 2, 3, 4};
+
+	@TempDir
+	Path outputDir;
+
+	@Test
+	void testStallEndsGame() throws Exception {
+		// Players that never take a turn: the stall time runs out and the game ends without a winner
+		GameSession session = new GameSession();
+		Deck[] decks = {new Deck(1, 8, session), new Deck(2, 8, session)};
+		session.setDecks(decks);
+		TextLogSink sink = new TextLogSink(outputDir);
+		Player[] players = {
+				new Player(1, decks[0], decks[1], sink, session),
+				new Player(2, decks[1], decks[0], sink, session)
+		};
+
+		GameOptions options = new GameOptions().setOutputDir(outputDir)
+				.setWatchdogStallMillis(200).setWatchdogSampleMillis(10);
+		Watchdog watchdog = Watchdog.start(session, players, decks, options);
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!session.isGameWon() && System.nanoTime() < deadline) Thread.sleep(10);
+		watchdog.stop();
+		sink.close();
+
+		assertTrue(session.isGameWon(), "Watchdog should have ended the game");
+		assertEquals(-1, session.getWinnerId());
+		assertTrue(watchdog.getReason().startsWith("no turn taken"), watchdog.getReason());
+		String diagnostics = Files.readString(outputDir.resolve(Watchdog.DIAGNOSTICS_FILE));
+		assertTrue(diagnostics.contains("player 2: 0 turns"), diagnostics);
+		assertTrue(diagnostics.contains("Threads:"), "A stall includes a thread dump");
+	}
+
+	@Test
+	void testStopRightAfterEndKeepsDiagnostics() throws Exception {
+		// Stopping as soon as the game has ended still leaves the whole file written
+		GameSession session = new GameSession();
+		Deck[] decks = {new Deck(1, 8, session), new Deck(2, 8, session)};
+		session.setDecks(decks);
+		TextLogSink sink = new TextLogSink(outputDir);
+		Player[] players = {
+				new Player(1, decks[0], decks[1], sink, session),
+				new Player(2, decks[1], decks[0], sink, session)
+		};
+
+		GameOptions options = new GameOptions().setOutputDir(outputDir)
+				.setWatchdogStallMillis(50).setWatchdogSampleMillis(5);
+		Watchdog watchdog = Watchdog.start(session, players, decks, options);
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!session.isGameWon() && System.nanoTime() < deadline) Thread.onSpinWait();
+		watchdog.stop();
+		sink.close();
+
+		// The file ends with the thread dump, so a cut-off write loses its end
+		assertTrue(session.isGameWon(), "Watchdog should have ended the game");
+		String diagnostics = Files.readString(outputDir.resolve(Watchdog.DIAGNOSTICS_FILE));
+		assertTrue(diagnostics.startsWith("Game ended without a winner: no turn taken"), diagnostics);
+		assertTrue(diagnostics.contains("peak deck depth"), diagnostics);
+		assertTrue(diagnostics.contains("\"cardgame-watchdog\""), diagnostics);
+		assertTrue(diagnostics.endsWith(System.lineSeparator()), diagnostics);
+	}
+
+	@Test
+	void testTurnBudgetEndsEndlessThreadedGame() throws IOException {
+		// Player threads stop shortly after the budget and exit as after a win
+		GameOptions options = new GameOptions().setOutputDir(outputDir)
+				.setWatchdogMaxTurns(5_000).setWatchdogSampleMillis(5);
+		GameReport report = CardGame.playGameWithReport(new GameSession(), 2, ENDLESS_PACK, options);
+
+		assertEquals(-1, report.getWinnerId());
+		assertTrue(report.getTotalTurns() >= 5_000);
+		String diagnostics = Files.readString(outputDir.resolve(Watchdog.DIAGNOSTICS_FILE));
+		assertTrue(diagnostics.startsWith("Game ended without a winner: turn budget of 5000 reached"), diagnostics);
+		assertFalse(diagnostics.contains("Threads:"), "Only a stall needs a thread dump");
+		String log = Files.readString(outputDir.resolve(PlayerLogFormat.fileName(1)));
+		assertTrue(log.contains("player 1 exits"), log);
+	}
+
+	@Test
+	void testTimeBudgetEndsEndlessCooperativeGame() {
+		// The same budget applies to players run as tasks
+		GameOptions options = new GameOptions().setOutputDir(outputDir).setEngine(Engine.COOPERATIVE).setWorkers(2)
+				.setWatchdogMaxMillis(200).setWatchdogSampleMillis(10);
+		GameReport report = CardGame.playGameWithReport(new GameSession(), 2, ENDLESS_PACK, options);
+
+		assertEquals(-1, report.getWinnerId());
+		assertTrue(Files.exists(outputDir.resolve(Watchdog.DIAGNOSTICS_FILE)));
+	}
+
+	@Test
+	void testFinishedGameUntouched() {
+		// A game won well within the budgets keeps its winner and writes no diagnostics
+		GameOptions options = new GameOptions().setOutputDir(outputDir)
+				.setWatchdogStallMillis(10_000).setWatchdogMaxTurns(1_000_000);
+		int winner = CardGame.playGame(new GameSession(), 2, new int[]{1, 3, 1, 4, 1, 5, 1, 6, 0, 7, 8, 9, 10, 11, 12, 13}, options);
+
+		assertEquals(1, winner);
+		assertFalse(Files.exists(outputDir.resolve(Watchdog.DIAGNOSTICS_FILE)));
+	}
+}